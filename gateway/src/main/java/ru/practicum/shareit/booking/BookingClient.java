@@ -5,14 +5,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingApprovalBatchRequest;
+import ru.practicum.shareit.booking.dto.NewBookingBatchRequest;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.dto.UpdateBookingRequest;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.enums.States;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -22,7 +24,6 @@ public class BookingClient extends BaseClient {
     @Autowired
     public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
         super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                 .build()
         );
     }
@@ -31,19 +32,37 @@ public class BookingClient extends BaseClient {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> bookItems(Long userId, NewBookingBatchRequest batch) {
+        return post("/batch", userId, batch);
+    }
+
     public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookings(@Nullable String pathPart, Long userId, States state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
+    public ResponseEntity<Object> getBookings(@Nullable String pathPart, Long userId, States state,
+                                              Integer from, @Nullable Integer size, @Nullable String after) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
 
         String path = "";
         if (pathPart != null) {
             path = path + pathPart;
         }
+        path = path + "?state={state}";
+
+        if (size != null) {
+            parameters.put("from", from);
+            parameters.put("size", size);
+            path = path + "&from={from}&size={size}";
+        }
+
+        if (after != null) {
+            parameters.put("after", after);
+            path = path + "&after={after}";
+        }
 
-        return get(path + "?state={state}", userId, parameters);
+        return get(path, userId, parameters);
     }
 
     public ResponseEntity<Object> updateBooking(Long userId, UpdateBookingRequest requestDto) {
@@ -59,4 +78,10 @@ public class BookingClient extends BaseClient {
 
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
+
+    public ResponseEntity<Object> approveBookings(Long userId, Boolean approved, BookingApprovalBatchRequest batch) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+
+        return patch("/batch-approve?approved={approved}", userId, parameters, batch);
+    }
 }
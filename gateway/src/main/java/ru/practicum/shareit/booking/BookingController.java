@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +18,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import ru.practicum.shareit.booking.dto.BookingApprovalBatchRequest;
+import ru.practicum.shareit.booking.dto.NewBookingBatchRequest;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.enums.States;
 
@@ -37,18 +41,24 @@ public class BookingController {
 
     @GetMapping
     public ResponseEntity<Object> findAllBookingsByUser(@RequestHeader(headerUserId) Long userId,
-                                                        @RequestParam(name = "state", defaultValue = "ALL") String stateParam) {
+                                                        @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                        @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                        @Positive @RequestParam(name = "size", required = false) Integer size,
+                                                        @RequestParam(name = "after", required = false) String after) {
         States state = States.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.getBookings(null, userId, state);
+        return bookingClient.getBookings(null, userId, state, from, size, after);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> findAllBookingsByOwnerItems(@RequestHeader(headerUserId) Long userId,
-                                                              @RequestParam(name = "state", defaultValue = "ALL") String stateParam) {
+                                                              @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                              @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                              @Positive @RequestParam(name = "size", required = false) Integer size,
+                                                              @RequestParam(name = "after", required = false) String after) {
         States state = States.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.getBookings("/owner", userId, state);
+        return bookingClient.getBookings("/owner", userId, state, from, size, after);
     }
 
     @PostMapping
@@ -57,6 +67,12 @@ public class BookingController {
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> bookItems(@RequestHeader(headerUserId) Long userId,
+                                            @Valid @RequestBody NewBookingBatchRequest batch) {
+        return bookingClient.bookItems(userId, batch);
+    }
+
     @DeleteMapping("/{bookingId}")
     public ResponseEntity<Object> deleteBooking(@PathVariable Long bookingId) {
         return bookingClient.deleteBooking(bookingId);
@@ -68,4 +84,11 @@ public class BookingController {
                                                  @RequestParam(name = "approved", defaultValue = "false") Boolean approved) {
         return bookingClient.approveBooking(bookingId, userId, approved);
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/batch-approve")
+    public ResponseEntity<Object> approveBookings(@RequestHeader(headerUserId) Long userId,
+                                                  @RequestParam(name = "approved", defaultValue = "false") Boolean approved,
+                                                  @Valid @RequestBody BookingApprovalBatchRequest batch) {
+        return bookingClient.approveBookings(userId, approved, batch);
+    }
+}
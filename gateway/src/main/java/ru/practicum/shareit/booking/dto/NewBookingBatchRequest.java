@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+/**
+ * Only the batch itself is checked here, the server validates each booking and reports it in that booking's result.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NewBookingBatchRequest {
+    public static final int MAX_SIZE = 100;
+
+    @NotEmpty
+    @Size(max = MAX_SIZE)
+    List<@NotNull NewBookingRequest> bookings;
+}
@@ -1,24 +1,49 @@
 package ru.practicum.shareit.client;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
+    /**
+     * Server response headers a pass-through response keeps, the rest describe the connection to the server.
+     */
+    static final List<String> FORWARDED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.LOCATION, "X-Next-Cursor");
+
     protected final RestTemplate rest;
+    private boolean passThrough;
+    @Nullable
+    private ResponseCache responseCache;
+    @Nullable
+    private RequestCoalescer requestCoalescer;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
     }
 
+    /**
+     * Forwards server bodies as the bytes they arrived in instead of reading them into objects and writing them
+     * back out.
+     */
+    @Value("${shareit-server.pass-through:true}")
+    public void setPassThrough(boolean passThrough) {
+        this.passThrough = passThrough;
+    }
+
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
     }
@@ -79,8 +104,57 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    @Autowired(required = false)
+    public void setResponseCache(@Nullable ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Autowired(required = false)
+    public void setRequestCoalescer(@Nullable RequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        if (method == HttpMethod.GET && (responseCache != null || requestCoalescer != null)) {
+            URI uri = parameters != null
+                    ? rest.getUriTemplateHandler().expand(path, parameters)
+                    : rest.getUriTemplateHandler().expand(path);
+            if (requestCoalescer != null && requestCoalescer.covers(uri)) {
+                return requestCoalescer.execute(uri, userId, () -> getThroughCache(uri, path, userId, parameters));
+            }
+            return getThroughCache(uri, path, userId, parameters);
+        }
+        return send(method, path, parameters, new HttpEntity<>(body, defaultHeaders(userId)));
+    }
+
+    private ResponseEntity<Object> getThroughCache(URI uri, String path, Long userId,
+                                                   @Nullable Map<String, Object> parameters) {
+        ResponseCache cache = responseCache;
+        if (cache == null) {
+            return send(HttpMethod.GET, path, parameters, new HttpEntity<Void>(defaultHeaders(userId)));
+        }
+        String key = ResponseCache.key(uri, userId);
+        ResponseCache.Entry cached = cache.get(key);
+        if (cached != null && cached.isFresh()) {
+            return cache.hit(cached);
+        }
+
+        HttpHeaders headers = defaultHeaders(userId);
+        if (cached != null && cached.etag() != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+        ResponseEntity<Object> response = send(HttpMethod.GET, path, parameters, new HttpEntity<Void>(headers));
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return cache.revalidated(key, cached, response.getHeaders());
+        }
+        return cache.store(key, response);
+    }
+
+    private <T> ResponseEntity<Object> send(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                            HttpEntity<T> requestEntity) {
+        if (passThrough) {
+            return forward(method, path, parameters, requestEntity);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -95,6 +169,36 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> forward(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                               HttpEntity<T> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return forwardedResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return forwardedResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    private static ResponseEntity<Object> forwardedResponse(HttpStatusCode status, @Nullable HttpHeaders headers,
+                                                            @Nullable byte[] body) {
+        HttpHeaders forwardedHeaders = new HttpHeaders();
+        if (headers != null) {
+            for (String name : FORWARDED_HEADERS) {
+                List<String> values = headers.get(name);
+                if (values != null) {
+                    forwardedHeaders.put(name, values);
+                }
+            }
+        }
+        return ResponseEntity.status(status).headers(forwardedHeaders).body(body);
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Lets no more requests run at once than the connection pool has connections. A request holds its permit from
+ * {@code execute()} until its response is closed, so callers queue on the semaphore and never inside the pool,
+ * whose lease wait would pin a virtual thread to its carrier.
+ */
+public class BoundedClientHttpRequestFactory extends AbstractClientHttpRequestFactoryWrapper {
+    private final Semaphore permits;
+
+    public BoundedClientHttpRequestFactory(ClientHttpRequestFactory requestFactory, int maxConcurrentRequests) {
+        super(requestFactory);
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+    }
+
+    @Override
+    protected ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod, ClientHttpRequestFactory requestFactory)
+            throws IOException {
+        return new BoundedRequest(requestFactory.createRequest(uri, httpMethod));
+    }
+
+    private class BoundedRequest implements ClientHttpRequest {
+        private final ClientHttpRequest delegate;
+
+        BoundedRequest(ClientHttpRequest delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a connection to the server");
+            }
+            try {
+                return new BoundedResponse(delegate.execute());
+            } catch (IOException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+
+    private class BoundedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private boolean closed;
+
+        BoundedResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                delegate.close();
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for identical GETs: while one request to the server is in flight, callers asking for the same path,
+ * query and user wait for its response instead of sending their own. Only paths matching
+ * {@code shareit-server.coalescing.paths} are coalesced, an empty list turns it off.
+ */
+@Component
+public class RequestCoalescer {
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> paths;
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter followers;
+
+    public RequestCoalescer(@Value("${shareit-server.coalescing.paths:}") List<String> paths,
+                            MeterRegistry registry) {
+        this.paths = List.copyOf(paths);
+        this.leaders = requests(registry, "sent");
+        this.followers = requests(registry, "coalesced");
+        registry.gauge("shareit.gateway.coalescing.in-flight", inFlight, ConcurrentMap::size);
+    }
+
+    boolean covers(URI uri) {
+        String path = uri.getPath();
+        for (String pattern : paths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs {@code request} unless an identical one is already in flight, in which case its response (or failure)
+     * is shared.
+     */
+    ResponseEntity<Object> execute(URI uri, @Nullable Long userId, Supplier<ResponseEntity<Object>> request) {
+        String key = ResponseCache.key(uri, userId);
+        CompletableFuture<ResponseEntity<Object>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            followers.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw rethrown(e.getCause());
+            }
+        }
+
+        leaders.increment();
+        try {
+            ResponseEntity<Object> response = request.get();
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static RuntimeException rethrown(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("shareit.gateway.coalescing.requests")
+                .description("Coalescible GET requests sent to the server or answered by one already in flight")
+                .tag("result", result)
+                .register(registry);
+    }
+}
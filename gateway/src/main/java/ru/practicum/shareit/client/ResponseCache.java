@@ -0,0 +1,141 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Server GET responses kept for reuse, least recently used first out. The server decides what may be kept and for
+ * how long: {@code Cache-Control: max-age} makes an entry reusable without asking, an {@code ETag} lets a stale
+ * entry be revalidated with {@code If-None-Match}, and {@code no-store} keeps a response out.
+ */
+@Component
+public class ResponseCache {
+    private final int maxEntries;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter revalidations;
+    private final Counter misses;
+
+    public ResponseCache(@Value("${shareit-server.response-cache.max-entries}") int maxEntries,
+                         MeterRegistry registry) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+        this.hits = requests(registry, "hit");
+        this.revalidations = requests(registry, "revalidated");
+        this.misses = requests(registry, "miss");
+        registry.gauge("shareit.gateway.cache.size", this, cache -> cache.size());
+    }
+
+    /**
+     * Responses differ by caller, so the caller is part of the key along with path and query.
+     */
+    static String key(URI uri, @Nullable Long userId) {
+        return userId + " " + uri;
+    }
+
+    @Nullable
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Keeps {@code response} under {@code key} if the server allows it, otherwise drops what was kept before.
+     */
+    ResponseEntity<Object> store(String key, ResponseEntity<Object> response) {
+        misses.increment();
+        Entry entry = response.getStatusCode() == HttpStatus.OK ? Entry.of(response, response.getHeaders()) : null;
+        synchronized (this) {
+            if (entry != null && maxEntries > 0) {
+                entries.put(key, entry);
+            } else {
+                entries.remove(key);
+            }
+        }
+        return response;
+    }
+
+    ResponseEntity<Object> hit(Entry entry) {
+        hits.increment();
+        return entry.response();
+    }
+
+    /**
+     * The server confirmed {@code entry} is current, its answer may extend how long it stays fresh.
+     */
+    ResponseEntity<Object> revalidated(String key, Entry entry, HttpHeaders notModifiedHeaders) {
+        revalidations.increment();
+        Entry refreshed = Entry.of(entry.response(), notModifiedHeaders.getCacheControl() != null
+                ? notModifiedHeaders : entry.response().getHeaders());
+        synchronized (this) {
+            if (refreshed != null) {
+                entries.put(key, refreshed);
+            } else {
+                entries.remove(key);
+            }
+        }
+        return entry.response();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("shareit.gateway.cache.requests")
+                .description("GET requests answered from the cache, revalidated with the server or sent to it")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    record Entry(ResponseEntity<Object> response, @Nullable String etag, long freshUntil) {
+        boolean isFresh() {
+            return System.nanoTime() - freshUntil < 0;
+        }
+
+        @Nullable
+        static Entry of(ResponseEntity<Object> response, HttpHeaders cacheHeaders) {
+            boolean noCache = false;
+            long maxAgeSeconds = 0;
+            String cacheControl = cacheHeaders.getCacheControl();
+            if (cacheControl != null) {
+                for (String directive : cacheControl.split(",")) {
+                    String name = directive.trim().toLowerCase();
+                    if (name.equals("no-store")) {
+                        return null;
+                    } else if (name.equals("no-cache")) {
+                        noCache = true;
+                    } else if (name.startsWith("max-age=")) {
+                        try {
+                            maxAgeSeconds = Long.parseLong(name.substring("max-age=".length()));
+                        } catch (NumberFormatException e) {
+                            maxAgeSeconds = 0;
+                        }
+                    }
+                }
+            }
+
+            String etag = response.getHeaders().getETag();
+            if (etag == null && (noCache || maxAgeSeconds <= 0)) {
+                return null;
+            }
+            long freshFor = noCache ? 0 : Duration.ofSeconds(maxAgeSeconds).toNanos();
+            return new Entry(response, etag, System.nanoTime() + freshFor);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connections from the gateway to the server, shared by all clients.
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@ConfigurationProperties(prefix = "shareit-server")
+public class ServerConnectionProperties {
+    int maxConnections = 200;
+    int maxConnectionsPerRoute = 200;
+    Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Longest silence while waiting for response data.
+     */
+    Duration readTimeout = Duration.ofSeconds(30);
+    /**
+     * How long an idle connection is kept when the server does not say so in a Keep-Alive header.
+     */
+    Duration keepAlive = Duration.ofSeconds(30);
+    /**
+     * Idle connections are closed in the background after this long.
+     */
+    Duration idleTimeout = Duration.ofSeconds(30);
+    /**
+     * A pooled connection idle for longer is checked before it is reused.
+     */
+    Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * Requests allowed in flight at once, the gateway only talks to one route.
+     */
+    public int getMaxConcurrentRequests() {
+        return Math.min(maxConnections, maxConnectionsPerRoute);
+    }
+}
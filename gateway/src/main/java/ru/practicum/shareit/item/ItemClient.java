@@ -5,7 +5,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
@@ -13,7 +12,9 @@ import ru.practicum.shareit.item.dto.NewCommentRequest;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -23,7 +24,6 @@ public class ItemClient extends BaseClient {
     @Autowired
     public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
         super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                 .build()
         );
     }
@@ -36,8 +36,10 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItems(@Nullable String pathPart, Long userId, @Nullable String text) {
+    public ResponseEntity<Object> getItems(@Nullable String pathPart, Long userId, @Nullable String text,
+                                           Integer from, @Nullable Integer size) {
         Map<String, Object> parameters = new HashMap<>();
+        List<String> query = new ArrayList<>();
 
         String path = "";
         if (pathPart != null) {
@@ -46,7 +48,17 @@ public class ItemClient extends BaseClient {
 
         if (text != null) {
             parameters.put("text", text);
-            path = path + "?text={text}";
+            query.add("text={text}");
+        }
+
+        if (size != null) {
+            parameters.put("from", from);
+            parameters.put("size", size);
+            query.add("from={from}&size={size}");
+        }
+
+        if (!query.isEmpty()) {
+            path = path + "?" + String.join("&", query);
         }
 
         return get(path, userId, parameters);
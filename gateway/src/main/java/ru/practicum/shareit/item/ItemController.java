@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -44,13 +46,17 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> findItemsForTenant(@RequestHeader(headerUserId) Long ownerId,
-                                                     @RequestParam(name = "text", defaultValue = "") String text) {
-        return itemClient.getItems("/search", ownerId, text);
+                                                     @RequestParam(name = "text", defaultValue = "") String text,
+                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        return itemClient.getItems("/search", ownerId, text, from, size);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll(@RequestHeader(headerUserId) Long ownerId) {
-        return itemClient.getItems(null, ownerId, null);
+    public ResponseEntity<Object> findAll(@RequestHeader(headerUserId) Long ownerId,
+                                          @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                          @Positive @RequestParam(name = "size", required = false) Integer size) {
+        return itemClient.getItems(null, ownerId, null, from, size);
     }
 
     @PatchMapping("/{itemId}")
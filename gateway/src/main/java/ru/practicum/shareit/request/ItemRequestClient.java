@@ -5,13 +5,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.NewRequest;
 import ru.practicum.shareit.request.dto.UpdateRequest;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
@@ -19,7 +23,6 @@ public class ItemRequestClient extends BaseClient {
     @Autowired
     public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
         super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                 .build()
         );
     }
@@ -32,13 +35,36 @@ public class ItemRequestClient extends BaseClient {
         return get("/" + requestId);
     }
 
-    public ResponseEntity<Object> getItemRequests(@Nullable String pathPart, Long userId) {
-        String path = "";
-        if (pathPart != null) {
-            path = path + pathPart;
+    public ResponseEntity<Object> getOwnItemRequests(Long userId, Integer from, @Nullable Integer size) {
+        if (size == null) {
+            return get("", userId);
+        }
+
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getOtherItemRequests(Long userId, Integer from, @Nullable Integer size,
+                                                       @Nullable String after) {
+        Map<String, Object> parameters = new HashMap<>();
+        List<String> query = new ArrayList<>();
+
+        if (size != null) {
+            parameters.put("from", from);
+            parameters.put("size", size);
+            query.add("from={from}&size={size}");
+        }
+        if (after != null) {
+            parameters.put("after", after);
+            query.add("after={after}");
+        }
+
+        String path = "/all";
+        if (!query.isEmpty()) {
+            path = path + "?" + String.join("&", query);
         }
 
-        return get(path, userId);
+        return get(path, userId, parameters);
     }
 
     public ResponseEntity<Object> updateItemRequest(Long userId, UpdateRequest requestDto) {
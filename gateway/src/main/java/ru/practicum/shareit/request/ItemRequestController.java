@@ -1,9 +1,12 @@
 package ru.practicum.shareit.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,11 +15,13 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.NewRequest;
 import ru.practicum.shareit.request.dto.UpdateRequest;
 
+@Validated
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(path = "/requests")
@@ -38,13 +43,18 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllByRequestorId(@RequestHeader(headerUserId) Long requestorId) {
-        return itemRequestClient.getItemRequests(null, requestorId);
+    public ResponseEntity<Object> findAllByRequestorId(@RequestHeader(headerUserId) Long requestorId,
+                                                       @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                       @Positive @RequestParam(name = "size", required = false) Integer size) {
+        return itemRequestClient.getOwnItemRequests(requestorId, from, size);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllOfAnotherRequestors(@RequestHeader(headerUserId) Long requestorId) {
-        return itemRequestClient.getItemRequests("/all", requestorId);
+    public ResponseEntity<Object> findAllOfAnotherRequestors(@RequestHeader(headerUserId) Long requestorId,
+                                                             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                             @Positive @RequestParam(name = "size", required = false) Integer size,
+                                                             @RequestParam(name = "after", required = false) String after) {
+        return itemRequestClient.getOtherItemRequests(requestorId, from, size, after);
     }
 
     @PutMapping
@@ -0,0 +1,124 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load harness for the gateway's execution modes. Starts a stub server that answers every call after a fixed
+ * delay, then runs the gateway in front of it once on platform threads and once on virtual threads, and fires the
+ * same burst of concurrent requests at each. Run from {@code gateway} after {@code mvn test-compile} with
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=ru.practicum.shareit.GatewayLoadHarness -Dexec.classpathScope=test \
+ *     -Dexec.args="1000 100 /items/search?text=drill"
+ * </pre>
+ * where the arguments are the number of concurrent requests, the stub delay in milliseconds and the gateway path
+ * to request ({@code /users/1} by default, which is not coalesced).
+ */
+public class GatewayLoadHarness {
+    private static final byte[] STUB_BODY = "{\"id\":1,\"name\":\"user\",\"email\":\"user@email\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        long delayMillis = args.length > 1 ? Long.parseLong(args[1]) : 100;
+        String path = args.length > 2 ? args[2] : "/users/1";
+
+        // the stub would otherwise close pooled connections beyond its default of 200 idle ones
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(requests));
+
+        GatewayLoadHarness harness = new GatewayLoadHarness();
+        HttpServer stub = harness.startStub(delayMillis);
+        try {
+            for (boolean virtual : new boolean[]{false, true}) {
+                harness.run(stub.getAddress().getPort(), virtual, requests, path);
+            }
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private HttpServer startStub(long delayMillis) throws IOException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/", exchange -> {
+            calls.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMillis);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, STUB_BODY.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(STUB_BODY);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        stub.start();
+        return stub;
+    }
+
+    private void run(int stubPort, boolean virtual, int requests, String path) throws Exception {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .run("--server.port=0",
+                        "--shareit-server.url=http://localhost:" + stubPort,
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        // so that the pool is not what limits either mode
+                        "--shareit-server.max-connections=" + requests,
+                        "--shareit-server.max-connections-per-route=" + requests,
+                        "--logging.level.org.springframework.web.client.RestTemplate=INFO")) {
+            int port = ((ServletWebServerApplicationContext) gateway).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + path);
+
+            try (HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build()) {
+                burst(client, uri, requests);
+                maxInFlight.set(0);
+                calls.set(0);
+
+                long started = System.nanoTime();
+                List<HttpResponse<Void>> responses = burst(client, uri, requests);
+                long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+                long ok = responses.stream().filter(response -> response.statusCode() == 200).count();
+                System.out.printf("%-8s threads: %d requests (%d ok) in %d ms, %.0f req/s, %d calls and at most %d at once at the server%n",
+                        virtual ? "virtual" : "platform", requests, ok, elapsedMillis,
+                        requests * 1000.0 / Math.max(elapsedMillis, 1), calls.get(), maxInFlight.get());
+            }
+        }
+    }
+
+    private List<HttpResponse<Void>> burst(HttpClient client, URI uri, int requests) {
+        List<CompletableFuture<HttpResponse<Void>>> sent = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            sent.add(client.sendAsync(HttpRequest.newBuilder(uri).header("X-Sharer-User-Id", "1").build(),
+                    HttpResponse.BodyHandlers.discarding()));
+        }
+        return sent.stream().map(CompletableFuture::join).toList();
+    }
+}
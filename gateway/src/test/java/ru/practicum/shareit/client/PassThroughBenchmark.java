@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of relaying one server listing through {@link BaseClient} and writing it out, with the body read into
+ * objects and with it passed through as bytes. The server is a canned response, so only the gateway's own work is
+ * measured. After {@code mvn test-compile} run from {@code gateway}
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=ru.practicum.shareit.client.PassThroughBenchmark -Dexec.classpathScope=test
+ * </pre>
+ * and compare the scores and the {@code gc.alloc.rate.norm} rows.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PassThroughBenchmark {
+    @Param({"10", "1000"})
+    private int items;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MappingJackson2HttpMessageConverter jsonConverter =
+            new MappingJackson2HttpMessageConverter(objectMapper);
+    private final ByteArrayHttpMessageConverter bytesConverter = new ByteArrayHttpMessageConverter();
+
+    private BaseClient deserializing;
+    private BaseClient passThrough;
+
+    @Setup
+    public void setUp() {
+        byte[] listing = IntStream.rangeClosed(1, items)
+                .mapToObj(id -> "{\"id\":" + id + ",\"name\":\"drill " + id + "\",\"description\":\"cordless drill\","
+                        + "\"available\":true,\"requestId\":null,\"lastBooking\":\"2024-07-01T10:00:00\","
+                        + "\"nextBooking\":null,\"comments\":[{\"id\":" + id + ",\"text\":\"works fine\","
+                        + "\"authorName\":\"booker\",\"created\":\"2024-07-02T10:00:00\"}]}")
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes();
+
+        RestTemplate rest = new RestTemplate();
+        rest.setRequestFactory((uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            MockClientHttpResponse response = new MockClientHttpResponse(listing, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.setResponse(response);
+            return request;
+        });
+
+        deserializing = new BaseClient(rest);
+        passThrough = new BaseClient(rest);
+        passThrough.setPassThrough(true);
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage deserializing() throws IOException {
+        return write(deserializing.get("http://server/items", 1L), jsonConverter);
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage passThrough() throws IOException {
+        return write(passThrough.get("http://server/items", 1L), bytesConverter);
+    }
+
+    /**
+     * What Spring MVC does with the controller's return value, minus picking the converter.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> MockHttpOutputMessage write(ResponseEntity<Object> response, HttpMessageConverter<T> converter)
+            throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write((T) response.getBody(), MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PassThroughBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
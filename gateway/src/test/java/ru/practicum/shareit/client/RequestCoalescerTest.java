@@ -0,0 +1,161 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+    private static final int CALLERS = 8;
+    private static final URI SEARCH = URI.create("/items/search?text=drill&from=0&size=10");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(List.of("/items/search", "/requests/all"), registry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch leaderSent = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void coversConfiguredPathsWhateverTheQuery() {
+        assertThat(coalescer.covers(SEARCH), equalTo(true));
+        assertThat(coalescer.covers(URI.create("/requests/all")), equalTo(true));
+        assertThat(coalescer.covers(URI.create("/items/1")), equalTo(false));
+        assertThat(coalescer.covers(URI.create("/items")), equalTo(false));
+        assertThat(new RequestCoalescer(List.of(), new SimpleMeterRegistry()).covers(SEARCH), equalTo(false));
+    }
+
+    @Test
+    void identicalRequestsInFlightShareOneUpstreamCall() throws Exception {
+        ResponseEntity<Object> response = ResponseEntity.ok("[]");
+
+        List<Future<ResponseEntity<Object>>> results = startWhileLeaderIsHeld(() -> response);
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS), sameInstance(response));
+        }
+        assertThat(upstreamCalls.get(), equalTo(1));
+        assertThat(requests("sent"), equalTo(1.0));
+        assertThat(requests("coalesced"), equalTo((double) CALLERS - 1));
+        assertThat(inFlight(), equalTo(0.0));
+    }
+
+    @Test
+    void leaderFailureReachesEveryWaiter() throws Exception {
+        IllegalStateException failure = new IllegalStateException("server unavailable");
+
+        List<Future<ResponseEntity<Object>>> results = startWhileLeaderIsHeld(() -> {
+            throw failure;
+        });
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertThat(thrown.getCause(), sameInstance(failure));
+        }
+        assertThat(upstreamCalls.get(), equalTo(1));
+        assertThat(inFlight(), equalTo(0.0));
+    }
+
+    @Test
+    void finishedRequestIsNotShared() {
+        coalescer.execute(SEARCH, 1L, counted(() -> ResponseEntity.ok("[]")));
+        assertThrows(IllegalStateException.class, () -> coalescer.execute(SEARCH, 1L, counted(() -> {
+            throw new IllegalStateException("server unavailable");
+        })));
+        coalescer.execute(SEARCH, 1L, counted(() -> ResponseEntity.ok("[]")));
+
+        assertThat(upstreamCalls.get(), equalTo(3));
+        assertThat(requests("sent"), equalTo(3.0));
+        assertThat(requests("coalesced"), equalTo(0.0));
+        assertThat(inFlight(), equalTo(0.0));
+    }
+
+    @Test
+    void requestsOfDifferentUsersAreNotMerged() throws Exception {
+        Future<ResponseEntity<Object>> firstUser = executor.submit(() ->
+                coalescer.execute(SEARCH, 1L, held(() -> ResponseEntity.ok("[1]"))));
+        assertThat(leaderSent.await(5, TimeUnit.SECONDS), equalTo(true));
+
+        ResponseEntity<Object> secondUser = coalescer.execute(SEARCH, 2L, counted(() -> ResponseEntity.ok("[2]")));
+        release.countDown();
+
+        assertThat(secondUser.getBody(), equalTo("[2]"));
+        assertThat(firstUser.get(5, TimeUnit.SECONDS).getBody(), equalTo("[1]"));
+        assertThat(upstreamCalls.get(), equalTo(2));
+        assertThat(requests("coalesced"), equalTo(0.0));
+    }
+
+    /**
+     * Starts one leader that blocks upstream until {@link #release} opens, then the other callers, and returns once
+     * all of them wait on the leader.
+     */
+    private List<Future<ResponseEntity<Object>>> startWhileLeaderIsHeld(Supplier<ResponseEntity<Object>> upstream)
+            throws InterruptedException {
+        List<Future<ResponseEntity<Object>>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute(SEARCH, 1L, held(upstream))));
+        assertThat(leaderSent.await(5, TimeUnit.SECONDS), equalTo(true));
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coalescer.execute(SEARCH, 1L, counted(upstream))));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests("coalesced") < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(requests("coalesced"), equalTo((double) CALLERS - 1));
+        return results;
+    }
+
+    private Supplier<ResponseEntity<Object>> held(Supplier<ResponseEntity<Object>> upstream) {
+        return counted(() -> {
+            leaderSent.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return upstream.get();
+        });
+    }
+
+    private Supplier<ResponseEntity<Object>> counted(Supplier<ResponseEntity<Object>> upstream) {
+        return () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.get();
+        };
+    }
+
+    private double requests(String result) {
+        return registry.get("shareit.gateway.coalescing.requests").tag("result", result).counter().count();
+    }
+
+    private double inFlight() {
+        return registry.get("shareit.gateway.coalescing.in-flight").gauge().value();
+    }
+}
@@ -0,0 +1,247 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ResponseCacheTest {
+    private static final String SERVER = "http://shareit-server";
+    private static final String ETAG = "\"v1\"";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MockRestServiceServer server;
+    private ResponseCache cache;
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER));
+        server = MockRestServiceServer.bindTo(rest).build();
+        cache = new ResponseCache(2, registry);
+        client = new BaseClient(rest);
+        client.setPassThrough(true);
+        client.setResponseCache(cache);
+    }
+
+    @Test
+    void entryOfKeepsNothingForNoStore() {
+        assertThat(ResponseCache.Entry.of(withEtag(), cacheControl("max-age=60, no-store")), nullValue());
+    }
+
+    @Test
+    void entryOfKeepsNothingWithoutEtagOrFreshness() {
+        assertThat(ResponseCache.Entry.of(ResponseEntity.ok("[]"), new HttpHeaders()), nullValue());
+        assertThat(ResponseCache.Entry.of(ResponseEntity.ok("[]"), cacheControl("no-cache, max-age=60")), nullValue());
+        assertThat(ResponseCache.Entry.of(ResponseEntity.ok("[]"), cacheControl("max-age=oops")), nullValue());
+    }
+
+    @Test
+    void entryOfIsFreshForMaxAge() {
+        ResponseCache.Entry entry = ResponseCache.Entry.of(ResponseEntity.ok("[]"), cacheControl("Max-Age=60"));
+
+        assertThat(entry, notNullValue());
+        assertThat(entry.isFresh(), equalTo(true));
+        assertThat(entry.etag(), nullValue());
+    }
+
+    @Test
+    void entryOfNoCacheWithEtagIsStaleAtOnce() {
+        ResponseCache.Entry entry = ResponseCache.Entry.of(withEtag(), cacheControl("no-cache, max-age=60"));
+
+        assertThat(entry, notNullValue());
+        assertThat(entry.isFresh(), equalTo(false));
+        assertThat(entry.etag(), equalTo(ETAG));
+    }
+
+    @Test
+    void freshEntryIsServedWithoutAskingServer() {
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(cacheControl("max-age=60")));
+
+        ResponseEntity<Object> first = client.get("/items/1", 1L);
+        ResponseEntity<Object> second = client.get("/items/1", 1L);
+
+        server.verify();
+        assertThat(body(second), equalTo(body(first)));
+        assertThat(requests("miss"), equalTo(1.0));
+        assertThat(requests("hit"), equalTo(1.0));
+    }
+
+    @Test
+    void etagOnlyEntryIsRevalidatedOnEveryCall() {
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(etag()));
+        server.expect(times(2), requestTo(SERVER + "/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(etag()));
+
+        client.get("/items/1", 1L);
+        ResponseEntity<Object> second = client.get("/items/1", 1L);
+        ResponseEntity<Object> third = client.get("/items/1", 1L);
+
+        server.verify();
+        assertThat(second.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(body(third), equalTo("{\"id\":1}"));
+        assertThat(requests("miss"), equalTo(1.0));
+        assertThat(requests("revalidated"), equalTo(2.0));
+        assertThat(requests("hit"), equalTo(0.0));
+    }
+
+    @Test
+    void notModifiedWithMaxAgeMakesEntryFreshAgain() {
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(etag()));
+        HttpHeaders refreshed = etag();
+        refreshed.setCacheControl("max-age=60");
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(refreshed));
+
+        client.get("/items/1", 1L);
+        client.get("/items/1", 1L);
+        ResponseEntity<Object> third = client.get("/items/1", 1L);
+
+        server.verify();
+        assertThat(body(third), equalTo("{\"id\":1}"));
+        assertThat(requests("revalidated"), equalTo(1.0));
+        assertThat(requests("hit"), equalTo(1.0));
+    }
+
+    @Test
+    void changedResponseReplacesEntry() {
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(etag()));
+        HttpHeaders changed = new HttpHeaders();
+        changed.setETag("\"v2\"");
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withSuccess("{\"id\":1,\"name\":\"drill\"}", MediaType.APPLICATION_JSON).headers(changed));
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v2\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        client.get("/items/1", 1L);
+        client.get("/items/1", 1L);
+        ResponseEntity<Object> third = client.get("/items/1", 1L);
+
+        server.verify();
+        assertThat(body(third), equalTo("{\"id\":1,\"name\":\"drill\"}"));
+        assertThat(requests("miss"), equalTo(2.0));
+        assertThat(requests("revalidated"), equalTo(1.0));
+    }
+
+    @Test
+    void noStoreResponseDropsEarlierEntry() {
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(etag()));
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON).headers(cacheControl("no-store")));
+
+        client.get("/items/1", 1L);
+        client.get("/items/1", 1L);
+
+        server.verify();
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    void errorResponseIsNotKept() {
+        server.expect(requestTo(SERVER + "/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).headers(cacheControl("max-age=60")));
+
+        assertThat(client.get("/items/1", 1L).getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+
+        server.verify();
+        assertThat(cache.size(), equalTo(0));
+        assertThat(requests("miss"), equalTo(1.0));
+    }
+
+    @Test
+    void entriesAreKeptPerUser() {
+        server.expect(requestTo(SERVER + "/items"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[{\"id\":1}]", MediaType.APPLICATION_JSON).headers(cacheControl("max-age=60")));
+        server.expect(requestTo(SERVER + "/items"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andRespond(withSuccess("[{\"id\":2}]", MediaType.APPLICATION_JSON).headers(cacheControl("max-age=60")));
+
+        client.get("/items", 1L);
+        client.get("/items", 2L);
+        ResponseEntity<Object> firstUserAgain = client.get("/items", 1L);
+
+        server.verify();
+        assertThat(body(firstUserAgain), equalTo("[{\"id\":1}]"));
+        assertThat(ResponseCache.key(URI.create("/items"), 1L), not(ResponseCache.key(URI.create("/items"), 2L)));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedAtMaxEntries() {
+        cache.store("a", withEtag());
+        cache.store("b", withEtag());
+        cache.get("a");
+        cache.store("c", withEtag());
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get("a"), notNullValue());
+        assertThat(cache.get("b"), nullValue());
+        assertThat(cache.get("c"), notNullValue());
+        assertThat(registry.get("shareit.gateway.cache.size").gauge().value(), equalTo(2.0));
+    }
+
+    @Test
+    void zeroMaxEntriesKeepsNothing() {
+        ResponseCache disabled = new ResponseCache(0, new SimpleMeterRegistry());
+
+        disabled.store("a", withEtag());
+
+        assertThat(disabled.size(), equalTo(0));
+    }
+
+    private double requests(String result) {
+        return registry.get("shareit.gateway.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static ResponseEntity<Object> withEtag() {
+        return ResponseEntity.ok().eTag(ETAG).body("[]");
+    }
+
+    private static HttpHeaders etag() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(ETAG);
+        return headers;
+    }
+
+    private static HttpHeaders cacheControl(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(value);
+        return headers;
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -14,17 +17,25 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingApprovalBatchDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingBatchDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.NdjsonPages;
 
-import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     private final String headerUserId = "X-Sharer-User-Id";
 
@@ -35,17 +46,49 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingDto> findAllBookingsByUser(@RequestHeader(headerUserId) Long userId,
-                                                        @RequestParam(name = "state", defaultValue = "ALL")
-                                                        String state) {
-        return bookingService.findAllBookingsByUser(userId, state);
+    public ResponseEntity<List<BookingDto>> findAllBookingsByUser(@RequestHeader(headerUserId) Long userId,
+                                                                  @RequestParam(name = "state", defaultValue = "ALL")
+                                                                  String state,
+                                                                  @RequestParam(name = "from", defaultValue = "0")
+                                                                  Integer from,
+                                                                  @RequestParam(name = "size", required = false)
+                                                                  Integer size,
+                                                                  @RequestParam(name = "after", required = false)
+                                                                  String after) {
+        return withNextCursor(bookingService.findAllBookingsByUser(userId, state, from, size, after), size);
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDto> findAllBookingsByOwnerItems(@RequestHeader(headerUserId) Long userId,
-                                                              @RequestParam(name = "state", defaultValue = "ALL")
-                                                              String state) {
-        return bookingService.findAllBookingsByOwnerItems(userId, state);
+    public ResponseEntity<List<BookingDto>> findAllBookingsByOwnerItems(@RequestHeader(headerUserId) Long userId,
+                                                                        @RequestParam(name = "state", defaultValue = "ALL")
+                                                                        String state,
+                                                                        @RequestParam(name = "from", defaultValue = "0")
+                                                                        Integer from,
+                                                                        @RequestParam(name = "size", required = false)
+                                                                        Integer size,
+                                                                        @RequestParam(name = "after", required = false)
+                                                                        String after) {
+        return withNextCursor(bookingService.findAllBookingsByOwnerItems(userId, state, from, size, after), size);
+    }
+
+    @GetMapping(produces = NdjsonPages.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookingsByUser(@RequestHeader(headerUserId) Long userId,
+                                                                         @RequestParam(name = "state", defaultValue = "ALL")
+                                                                         String state,
+                                                                         @RequestParam(name = "after", required = false)
+                                                                         String after) {
+        return stream(position -> bookingService.findAllBookingsByUser(userId, state, 0, NdjsonPages.PAGE_SIZE,
+                position), after);
+    }
+
+    @GetMapping(path = "/owner", produces = NdjsonPages.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookingsByOwnerItems(@RequestHeader(headerUserId) Long userId,
+                                                                               @RequestParam(name = "state", defaultValue = "ALL")
+                                                                               String state,
+                                                                               @RequestParam(name = "after", required = false)
+                                                                               String after) {
+        return stream(position -> bookingService.findAllBookingsByOwnerItems(userId, state, 0, NdjsonPages.PAGE_SIZE,
+                position), after);
     }
 
     @PostMapping
@@ -55,6 +98,12 @@ public class BookingController {
         return bookingService.create(userId, booking);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> bookItems(@RequestHeader(headerUserId) Long userId,
+                                                 @Valid @RequestBody NewBookingBatchDto batch) {
+        return bookingService.createAll(userId, batch.getBookings());
+    }
+
     @DeleteMapping("/{bookingId}")
     public void deleteBooking(@PathVariable Long bookingId) {
         bookingService.delete(bookingId);
@@ -66,4 +115,26 @@ public class BookingController {
                                      @RequestParam(name = "approved", defaultValue = "false") Boolean approved) {
         return bookingService.approveBooking(bookingId, userId, approved);
     }
+
+    @PatchMapping("/batch-approve")
+    public List<BookingBatchResultDto> approveBookings(@RequestHeader(headerUserId) Long userId,
+                                                       @RequestParam(name = "approved", defaultValue = "false")
+                                                       Boolean approved,
+                                                       @Valid @RequestBody BookingApprovalBatchDto batch) {
+        return bookingService.approveAll(userId, batch.getBookingIds(), approved);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(Function<String, List<BookingDto>> page, String after) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonPages.MEDIA_TYPE))
+                .body(NdjsonPages.stream(objectMapper, page.apply(after),
+                        booking -> new Cursor(booking.getStart(), booking.getId()).encode(), page));
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, Integer size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        Cursor.next(bookings, size, BookingDto::getStart, BookingDto::getId)
+                .ifPresent(cursor -> response.header(Cursor.NEXT_CURSOR_HEADER, cursor));
+        return response.body(bookings);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.enums.Statuses;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bookings row as written by the data export.
+ */
+public record BookingSnapshot(Long id, LocalDateTime start, LocalDateTime end, Long itemId, Long bookerId,
+                              Statuses status) {
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bookings are validated one by one, an invalid one is reported in its result instead of failing the batch.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NewBookingBatchDto {
+    public static final int MAX_SIZE = 100;
+
+    @NotEmpty
+    @Size(max = MAX_SIZE)
+    private List<@NotNull NewBookingDto> bookings;
+}
@@ -1,92 +1,203 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingSnapshot;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.enums.Statuses;
+import ru.practicum.shareit.export.DataExportService;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    String FETCH_DETAILS = "join fetch b.item as i join fetch i.user as o join fetch b.booker as u ";
 
-    Collection<Booking> findAllByBookerId(Long bookerId);
+    String AFTER_CURSOR = "and (b.start > :afterStart or (b.start = :afterStart and b.id > :afterId)) ";
 
-    Collection<Booking> findAllByBookerIdAndStatus(Long bookerId, Statuses status);
+    String ORDER_BY_START = "order by b.start asc, b.id asc";
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN :itemIds AND b.end < CURRENT_TIMESTAMP " +
-            "ORDER BY b.item.id, b.end DESC")
-    List<Booking> findLastBookingsByItemIds(@Param("itemIds") List<Long> itemIds);
+    @EntityGraph(attributePaths = {"item", "item.user", "booker"})
+    Optional<Booking> findDetailedById(Long bookingId);
 
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.id IN :itemIds AND b.start > CURRENT_TIMESTAMP " +
-            "ORDER BY b.item.id, b.start ASC")
-    List<Booking> findNextBookingsByItemIds(@Param("itemIds") List<Long> itemIds);
+    @EntityGraph(attributePaths = {"item", "item.user", "booker"})
+    List<Booking> findAllDetailedByIdIn(Collection<Long> bookingIds);
+
+    /**
+     * Row locks on the bookings only, their details are fetched separately with {@link #findAllDetailedByIdIn}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Booking> findAllLockedByIdInOrderById(Collection<Long> bookingIds);
+
+    @Query("select b " +
+            "from Booking as b " +
+            FETCH_DETAILS +
+            "where u.id = :bookerId " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllByBookerId(@Param("bookerId") Long bookerId,
+                                    @Param("afterStart") LocalDateTime afterStart,
+                                    @Param("afterId") Long afterId,
+                                    Pageable pageable);
 
     @Query("select b " +
             "from Booking as b " +
-            "where b.booker.id = ?1 " +
-            "and CURRENT_TIMESTAMP BETWEEN b.start and b.end")
-    Collection<Booking> findAllCurrentBookingByBookerId(Long bookerId);
+            FETCH_DETAILS +
+            "where u.id = :bookerId " +
+            "and b.status = :status " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllByBookerIdAndStatus(@Param("bookerId") Long bookerId,
+                                             @Param("status") Statuses status,
+                                             @Param("afterStart") LocalDateTime afterStart,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
 
     @Query("select b " +
             "from Booking as b " +
-            "where b.booker.id = ?1 " +
-            "and CURRENT_TIMESTAMP > b.end")
-    Collection<Booking> findAllPastBookingByBookerId(Long bookerId);
+            FETCH_DETAILS +
+            "where u.id = :bookerId " +
+            "and CURRENT_TIMESTAMP BETWEEN b.start and b.end " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllCurrentBookingByBookerId(@Param("bookerId") Long bookerId,
+                                                  @Param("afterStart") LocalDateTime afterStart,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable pageable);
 
     @Query("select b " +
             "from Booking as b " +
-            "where b.booker.id = ?1 " +
-            "and CURRENT_TIMESTAMP < b.start")
-    Collection<Booking> findAllFutureBookingByBookerId(Long bookerId);
+            FETCH_DETAILS +
+            "where u.id = :bookerId " +
+            "and CURRENT_TIMESTAMP > b.end " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllPastBookingByBookerId(@Param("bookerId") Long bookerId,
+                                               @Param("afterStart") LocalDateTime afterStart,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
 
+    @Query("select b " +
+            "from Booking as b " +
+            FETCH_DETAILS +
+            "where u.id = :bookerId " +
+            "and CURRENT_TIMESTAMP < b.start " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllFutureBookingByBookerId(@Param("bookerId") Long bookerId,
+                                                 @Param("afterStart") LocalDateTime afterStart,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
 
     @Query("select b " +
             "from Booking as b " +
-            "where b.item.user.id = ?1")
-    Collection<Booking> findAllByOwnerId(Long ownerId);
+            FETCH_DETAILS +
+            "where o.id = :ownerId " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllByOwnerId(@Param("ownerId") Long ownerId,
+                                   @Param("afterStart") LocalDateTime afterStart,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
 
     @Query("select b " +
             "from Booking as b " +
-            "where b.item.user.id = ?1 " +
-            "and b.status = ?2")
-    Collection<Booking> findAllByOwnerIdAndStatus(Long ownerId, Statuses status);
+            FETCH_DETAILS +
+            "where o.id = :ownerId " +
+            "and b.status = :status " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllByOwnerIdAndStatus(@Param("ownerId") Long ownerId,
+                                            @Param("status") Statuses status,
+                                            @Param("afterStart") LocalDateTime afterStart,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
 
     @Query("select b " +
             "from Booking as b " +
-            "where b.item.user.id = ?1 " +
-            "and CURRENT_TIMESTAMP BETWEEN b.start and b.end")
-    Collection<Booking> findAllCurrentBookingByOwnerId(Long ownerId);
+            FETCH_DETAILS +
+            "where o.id = :ownerId " +
+            "and CURRENT_TIMESTAMP BETWEEN b.start and b.end " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllCurrentBookingByOwnerId(@Param("ownerId") Long ownerId,
+                                                 @Param("afterStart") LocalDateTime afterStart,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
 
     @Query("select b " +
             "from Booking as b " +
-            "where b.item.user.id = ?1 " +
-            "and CURRENT_TIMESTAMP > b.end")
-    Collection<Booking> findAllPastBookingByOwnerId(Long ownerId);
+            FETCH_DETAILS +
+            "where o.id = :ownerId " +
+            "and CURRENT_TIMESTAMP > b.end " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllPastBookingByOwnerId(@Param("ownerId") Long ownerId,
+                                              @Param("afterStart") LocalDateTime afterStart,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
 
     @Query("select b " +
             "from Booking as b " +
-            "where b.item.user.id = ?1 " +
-            "and CURRENT_TIMESTAMP < b.start")
-    Collection<Booking> findAllFutureBookingByOwnerId(Long ownerId);
+            FETCH_DETAILS +
+            "where o.id = :ownerId " +
+            "and CURRENT_TIMESTAMP < b.start " +
+            AFTER_CURSOR +
+            ORDER_BY_START)
+    List<Booking> findAllFutureBookingByOwnerId(@Param("ownerId") Long ownerId,
+                                                @Param("afterStart") LocalDateTime afterStart,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    /**
+     * Compare-and-set of the status: only a booking still in {@code expected} status of an item owned by
+     * {@code ownerId} is changed. Returns the number of updated rows.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking as b " +
+            "set b.status = :status " +
+            "where b.id = :bookingId " +
+            "and b.status = :expected " +
+            "and exists (select i.id from Item as i where i.id = b.item.id and i.user.id = :ownerId)")
+    int updateStatus(@Param("bookingId") Long bookingId,
+                     @Param("ownerId") Long ownerId,
+                     @Param("expected") Statuses expected,
+                     @Param("status") Statuses status);
 
     Boolean existsByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime localDateTime);
 
-    @Query("select b.start " +
+    @Query("select b " +
             "from Booking as b " +
-            "where b.item.id = ?1 " +
-            "and CURRENT_TIMESTAMP < b.start")
-    List<LocalDateTime> findNextBookingStartByItemId(Long itemId);
-
-    @Query("select b.end " +
+            "where b.item.id in :itemIds " +
+            "and b.status in :statuses " +
+            "and b.start < :end " +
+            "and b.end > :start")
+    List<Booking> findAllOverlapping(@Param("itemIds") Collection<Long> itemIds,
+                                     @Param("statuses") Collection<Statuses> statuses,
+                                     @Param("start") LocalDateTime start,
+                                     @Param("end") LocalDateTime end);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(Long itemId, Collection<Statuses> statuses,
+                                                               LocalDateTime end, LocalDateTime start);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = DataExportService.FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.booking.dto.BookingSnapshot(b.id, b.start, b.end, b.item.id, " +
+            "b.booker.id, b.status) " +
             "from Booking as b " +
-            "where b.item.id = ?1 " +
-            "and CURRENT_TIMESTAMP > b.end")
-    List<LocalDateTime> findLastBookingEndByItemId(Long itemId);
+            "order by b.id")
+    Stream<BookingSnapshot> streamSnapshots();
 }
@@ -1,11 +1,17 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
@@ -13,47 +19,115 @@ import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.enums.States;
 import ru.practicum.shareit.booking.enums.Statuses;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import ru.practicum.shareit.exception.BookingStatusException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.PermissionException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Pages;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserReferences;
 
-import java.util.Collection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("shareit.service")
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
 public class BookingService {
+    private static final Set<Statuses> BLOCKING_STATUSES = EnumSet.of(Statuses.WAITING, Statuses.APPROVED);
+
     final BookingRepository repository;
     final UserRepository userRepository;
     final ItemRepository itemRepository;
+    final UserReferences userReferences;
+    final ItemBookingSummaryService summaryService;
+    final Validator validator;
 
     @Transactional
     public BookingDto create(Long userId, NewBookingDto request) {
-        Item findItem = findItemById(request.getItemId());
         User findUser = findUserById(userId);
+        Item findItem = itemRepository.findLockedById(request.getItemId())
+                .orElseThrow(() -> new NotFoundException(Item.class, request.getItemId()));
 
-        if (!findItem.getAvailable()) {
-            throw new ValidationException("Item is not available");
-        }
+        checkBookable(findUser, findItem);
 
-        if (findUser.getId().equals(findItem.getUser().getId())) {
-            throw new ValidationException("You can't book your own item");
+        if (repository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(findItem.getId(), BLOCKING_STATUSES,
+                request.getEnd(), request.getStart())) {
+            throw new BookingOverlapException(findItem.getId());
         }
 
         Booking booking = BookingMapper.toEntity(request, findUser, findItem);
         booking = repository.save(booking);
+        summaryService.onBookingCreated(booking);
 
         return BookingMapper.toDto(booking);
     }
 
+    /**
+     * Creates each valid booking of the batch; entries that fail are reported in their result and not created.
+     * All items are locked up front and the bookings are inserted together when the transaction flushes.
+     */
+    @Transactional
+    public List<BookingBatchResultDto> createAll(Long userId, List<NewBookingDto> requests) {
+        User booker = findUserById(userId);
+        Map<Long, Item> items = itemRepository.findAllLockedByIdInOrderById(requests.stream()
+                        .map(NewBookingDto::getItemId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> blocking = findBlockingBookings(items.keySet(), requests);
+
+        List<BookingBatchResultDto> results = new ArrayList<>(requests.size());
+        Set<Long> bookedItemIds = new HashSet<>();
+        for (int index = 0; index < requests.size(); index++) {
+            NewBookingDto request = requests.get(index);
+            try {
+                validate(request);
+                Item item = items.get(request.getItemId());
+                if (item == null) {
+                    throw new NotFoundException(Item.class, request.getItemId());
+                }
+                checkBookable(booker, item);
+
+                List<Booking> itemBookings = blocking.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+                if (itemBookings.stream().anyMatch(other ->
+                        other.getStart().isBefore(request.getEnd()) && other.getEnd().isAfter(request.getStart()))) {
+                    throw new BookingOverlapException(item.getId());
+                }
+
+                Booking booking = repository.save(BookingMapper.toEntity(request, booker, item));
+                itemBookings.add(booking);
+                bookedItemIds.add(item.getId());
+                results.add(new BookingBatchResultDto(index, HttpStatus.CREATED.value(),
+                        BookingMapper.toDto(booking), null));
+            } catch (NotFoundException | ValidationException | BookingOverlapException e) {
+                results.add(failed(index, e));
+            }
+        }
+        bookedItemIds.forEach(summaryService::refresh);
+
+        return results;
+    }
+
     @Transactional(readOnly = true)
     public BookingDto findBooking(Long bookingId, Long userId) {
         Booking booking = findById(bookingId);
@@ -66,78 +140,173 @@ public class BookingService {
     }
 
     @Transactional(readOnly = true)
-    public Collection<BookingDto> findAllBookingsByUser(Long userId, String state) {
+    public List<BookingDto> findAllBookingsByUser(Long userId, String state, Integer from, Integer size, String after) {
         States currentState = States.valueOf(state);
-        User findUser = findUserById(userId);
-        Collection<Booking> bookingList = switch (currentState) {
-            case ALL -> repository.findAllByBookerId(userId);
-            case CURRENT -> repository.findAllCurrentBookingByBookerId(userId);
-            case PAST -> repository.findAllPastBookingByBookerId(userId);
-            case FUTURE -> repository.findAllFutureBookingByBookerId(userId);
-            case WAITING -> repository.findAllByBookerIdAndStatus(userId, Statuses.WAITING);
-            case REJECTED -> repository.findAllByBookerIdAndStatus(userId, Statuses.REJECTED);
+        userReferences.requireExists(userId);
+        Cursor cursor = Cursor.decode(after);
+        Pageable page = Pages.of(from, size);
+        List<Booking> bookingList = switch (currentState) {
+            case ALL -> repository.findAllByBookerId(userId, cursor.timestamp(), cursor.id(), page);
+            case CURRENT -> repository.findAllCurrentBookingByBookerId(userId, cursor.timestamp(), cursor.id(), page);
+            case PAST -> repository.findAllPastBookingByBookerId(userId, cursor.timestamp(), cursor.id(), page);
+            case FUTURE -> repository.findAllFutureBookingByBookerId(userId, cursor.timestamp(), cursor.id(), page);
+            case WAITING -> repository.findAllByBookerIdAndStatus(userId, Statuses.WAITING,
+                    cursor.timestamp(), cursor.id(), page);
+            case REJECTED -> repository.findAllByBookerIdAndStatus(userId, Statuses.REJECTED,
+                    cursor.timestamp(), cursor.id(), page);
         };
 
         return bookingList.stream()
                 .map(BookingMapper::toDto)
-                .sorted(Comparator.comparing(BookingDto::getStart))
-                .collect(Collectors.toList());
+                .toList();
     }
 
     @Transactional(readOnly = true)
-    public Collection<BookingDto> findAllBookingsByOwnerItems(Long userId, String state) {
+    public List<BookingDto> findAllBookingsByOwnerItems(Long userId, String state, Integer from, Integer size,
+                                                        String after) {
         States currentState = States.valueOf(state);
-        findUserById(userId);
-        Collection<Booking> bookingList = switch (currentState) {
-            case ALL -> repository.findAllByOwnerId(userId);
-            case CURRENT -> repository.findAllCurrentBookingByOwnerId(userId);
-            case PAST -> repository.findAllPastBookingByOwnerId(userId);
-            case FUTURE -> repository.findAllFutureBookingByOwnerId(userId);
-            case WAITING -> repository.findAllByOwnerIdAndStatus(userId, Statuses.WAITING);
-            case REJECTED -> repository.findAllByOwnerIdAndStatus(userId, Statuses.REJECTED);
+        userReferences.requireExists(userId);
+        Cursor cursor = Cursor.decode(after);
+        Pageable page = Pages.of(from, size);
+        List<Booking> bookingList = switch (currentState) {
+            case ALL -> repository.findAllByOwnerId(userId, cursor.timestamp(), cursor.id(), page);
+            case CURRENT -> repository.findAllCurrentBookingByOwnerId(userId, cursor.timestamp(), cursor.id(), page);
+            case PAST -> repository.findAllPastBookingByOwnerId(userId, cursor.timestamp(), cursor.id(), page);
+            case FUTURE -> repository.findAllFutureBookingByOwnerId(userId, cursor.timestamp(), cursor.id(), page);
+            case WAITING -> repository.findAllByOwnerIdAndStatus(userId, Statuses.WAITING,
+                    cursor.timestamp(), cursor.id(), page);
+            case REJECTED -> repository.findAllByOwnerIdAndStatus(userId, Statuses.REJECTED,
+                    cursor.timestamp(), cursor.id(), page);
         };
 
         return bookingList.stream()
                 .map(BookingMapper::toDto)
-                .sorted(Comparator.comparing(BookingDto::getStart))
-                .collect(Collectors.toList());
+                .toList();
     }
 
     @Transactional
     public void delete(Long bookingId) {
         Booking booking = findById(bookingId);
+        Long itemId = booking.getItem().getId();
+        itemRepository.findLockedById(itemId);
         repository.delete(booking);
+        summaryService.refresh(itemId);
     }
 
     @Transactional
     public BookingDto approveBooking(Long bookingId, Long userId, Boolean approved) {
-        Booking booking = findById(bookingId);
-        Item item = findItemById(booking.getItem().getId());
+        Statuses status = approved ? Statuses.APPROVED : Statuses.REJECTED;
 
-        if (!item.getUser().getId().equals(userId)) {
-            throw new PermissionException(userId);
-        }
+        if (repository.updateStatus(bookingId, userId, Statuses.WAITING, status) == 0) {
+            Booking booking = findById(bookingId);
 
-        if (!booking.getStatus().equals(Statuses.WAITING)) {
+            if (!booking.getItem().getUser().getId().equals(userId)) {
+                throw new PermissionException(userId);
+            }
             throw new BookingStatusException(bookingId);
         }
 
-        booking.setStatus(approved ? Statuses.APPROVED : Statuses.REJECTED);
-        return BookingMapper.toDto(booking);
+        return BookingMapper.toDto(findById(bookingId));
+    }
+
+    /**
+     * Approves or rejects each waiting booking of the batch that belongs to an item of {@code userId}; the others
+     * are reported in their result. The changed bookings are updated together when the transaction flushes.
+     */
+    @Transactional
+    public List<BookingBatchResultDto> approveAll(Long userId, List<Long> bookingIds, Boolean approved) {
+        Statuses status = approved ? Statuses.APPROVED : Statuses.REJECTED;
+        repository.findAllLockedByIdInOrderById(bookingIds);
+        Map<Long, Booking> bookings = repository.findAllDetailedByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingIds.size());
+        for (int index = 0; index < bookingIds.size(); index++) {
+            Long bookingId = bookingIds.get(index);
+            try {
+                Booking booking = bookings.get(bookingId);
+                if (booking == null) {
+                    throw new NotFoundException(Booking.class, bookingId);
+                }
+                if (!booking.getItem().getUser().getId().equals(userId)) {
+                    throw new PermissionException(userId);
+                }
+                if (booking.getStatus() != Statuses.WAITING) {
+                    throw new BookingStatusException(bookingId);
+                }
+
+                booking.setStatus(status);
+                results.add(new BookingBatchResultDto(index, HttpStatus.OK.value(), BookingMapper.toDto(booking), null));
+            } catch (NotFoundException | PermissionException | BookingStatusException e) {
+                results.add(failed(index, e));
+            }
+        }
+
+        return results;
+    }
+
+    private void checkBookable(User booker, Item item) {
+        if (!item.getAvailable()) {
+            throw new ValidationException("Item is not available");
+        }
+
+        if (booker.getId().equals(item.getUser().getId())) {
+            throw new ValidationException("You can't book your own item");
+        }
+    }
+
+    private void validate(NewBookingDto request) {
+        Set<ConstraintViolation<NewBookingDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        if (request.getStart() == null || request.getEnd() == null || !request.getEnd().isAfter(request.getStart())) {
+            throw new ValidationException("Booking must end after it starts");
+        }
+    }
+
+    /**
+     * Waiting and approved bookings of the items that overlap the period the whole batch spans, by item.
+     */
+    private Map<Long, List<Booking>> findBlockingBookings(Set<Long> itemIds, List<NewBookingDto> requests) {
+        Optional<LocalDateTime> start = requests.stream()
+                .map(NewBookingDto::getStart)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder());
+        Optional<LocalDateTime> end = requests.stream()
+                .map(NewBookingDto::getEnd)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder());
+        if (itemIds.isEmpty() || start.isEmpty() || end.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        return repository.findAllOverlapping(itemIds, BLOCKING_STATUSES, start.get(), end.get()).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), HashMap::new,
+                        Collectors.toCollection(ArrayList::new)));
+    }
+
+    private static BookingBatchResultDto failed(int index, RuntimeException e) {
+        HttpStatus status = switch (e) {
+            case NotFoundException notFound -> HttpStatus.NOT_FOUND;
+            case PermissionException permission -> HttpStatus.FORBIDDEN;
+            case BookingOverlapException overlap -> HttpStatus.CONFLICT;
+            case BookingStatusException bookingStatus -> HttpStatus.CONFLICT;
+            default -> HttpStatus.BAD_REQUEST;
+        };
+        return new BookingBatchResultDto(index, status.value(), null, e.getMessage());
     }
 
     private Booking findById(Long bookingId) {
-        return repository.findById(bookingId)
+        return repository.findDetailedById(bookingId)
                 .orElseThrow(() -> new NotFoundException(Booking.class, bookingId));
     }
 
     private User findUserById(Long userId) {
-        return userRepository.findById(userId)
+        return userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException(User.class, userId));
     }
-
-    private Item findItemById(Long itemId) {
-        return itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException(Item.class, itemId));
-    }
 }
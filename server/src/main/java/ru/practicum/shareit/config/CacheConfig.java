@@ -0,0 +1,31 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS = "users";
+    public static final String USER_EXISTS = "userExists";
+
+    /**
+     * Puts and evictions are deferred until the surrounding transaction commits,
+     * so rolled back writes never reach the cache.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${shareit.cache.spec}") String spec,
+                                     @Value("${shareit.cache.existence-spec}") String existenceSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS);
+        cacheManager.setCacheSpecification(spec);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(USER_EXISTS, Caffeine.from(existenceSpec).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
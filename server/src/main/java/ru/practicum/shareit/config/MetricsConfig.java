@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.metrics.SqlStatementCountFilter;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspector(SqlStatementCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public SqlStatementCountFilter sqlStatementCountFilter(SqlStatementCounter counter, MeterRegistry registry) {
+        return new SqlStatementCountFilter(counter, registry);
+    }
+}
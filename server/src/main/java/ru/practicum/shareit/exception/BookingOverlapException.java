@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class BookingOverlapException extends RuntimeException {
+    public BookingOverlapException(Long itemId) {
+        super("Item " + itemId + " is already booked for the requested period");
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class UnauthorizedException extends RuntimeException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.exception.UnauthorizedException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+
+/**
+ * Whole-dataset export for offline analytics. Served by the server only, the gateway does not route it.
+ * Callers present {@code shareit.export.token} as {@code Authorization: Bearer <token>}; while no token is
+ * configured every request is rejected.
+ */
+@RestController
+@RequestMapping("/admin/export")
+public class DataExportController {
+    private static final String BEARER = "Bearer ";
+
+    private final DataExportService exportService;
+    private final byte[] token;
+
+    public DataExportController(DataExportService exportService,
+                                @Value("${shareit.export.token:}") String token) {
+        this.exportService = exportService;
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        authorize(authorization);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("shareit-" + LocalDate.now() + DataExportService.FILE_EXTENSION)
+                        .build()
+                        .toString())
+                .body(exportService::export);
+    }
+
+    private void authorize(String authorization) {
+        if (token.length == 0 || authorization == null || !authorization.startsWith(BEARER)
+                || !MessageDigest.isEqual(token,
+                authorization.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8))) {
+            throw new UnauthorizedException("Export requires a valid admin token");
+        }
+    }
+}
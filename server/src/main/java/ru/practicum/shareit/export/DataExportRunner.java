@@ -0,0 +1,50 @@
+package ru.practicum.shareit.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Offline export: when {@code shareit.export.file} is set, writes the export to that file on startup and exits.
+ * <pre>
+ * java -jar shareit-server.jar --spring.main.web-application-type=none --shareit.export.file=shareit.ndjson.gz
+ * </pre>
+ * The export is written next to the file first and moved over it once complete.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.export.file")
+public class DataExportRunner implements ApplicationRunner {
+    private final DataExportService exportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+
+    public DataExportRunner(DataExportService exportService, ConfigurableApplicationContext context,
+                            @Value("${shareit.export.file}") Path file) {
+        this.exportService = exportService;
+        this.context = context;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            exportService.export(out);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Exported to {}", file);
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
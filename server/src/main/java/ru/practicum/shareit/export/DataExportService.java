@@ -0,0 +1,88 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes every user, item request, item, booking and comment as gzip-compressed NDJSON, one
+ * {@code {"type": ..., "row": {...}}} object per line, parents before children. Rows are read through
+ * database cursors as projections, so neither the persistence context nor the heap grows with the tables; the
+ * transaction is repeatable read so that all the tables come from one snapshot. It holds its connection until
+ * the last row is written, so a slow reader holds it too.
+ */
+@Slf4j
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class DataExportService {
+    /**
+     * Rows fetched from a cursor per round trip.
+     */
+    public static final String FETCH_SIZE = "1000";
+
+    public static final String FILE_EXTENSION = ".ndjson.gz";
+
+    UserRepository userRepository;
+    RequestRepository requestRepository;
+    ItemRepository itemRepository;
+    BookingRepository bookingRepository;
+    CommentRepository commentRepository;
+    ObjectMapper objectMapper;
+
+    /**
+     * Writes the export to {@code out}, which is finished but left open. Returns the rows written per type.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Map<String, Long> export(OutputStream out) throws IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip)) {
+            // the generator must not close the caller's stream, and lines are separated by hand
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            counts.put("user", write(generator, "user", userRepository.streamSnapshots()));
+            counts.put("request", write(generator, "request", requestRepository.streamSnapshots()));
+            counts.put("item", write(generator, "item", itemRepository.streamSnapshots()));
+            counts.put("booking", write(generator, "booking", bookingRepository.streamSnapshots()));
+            counts.put("comment", write(generator, "comment", commentRepository.streamSnapshots()));
+        }
+        gzip.finish();
+
+        log.info("Exported {}", counts);
+        return counts;
+    }
+
+    private static long write(JsonGenerator generator, String type, Stream<?> rows) throws IOException {
+        long count = 0;
+        try (rows) {
+            for (Iterator<?> iterator = rows.iterator(); iterator.hasNext(); count++) {
+                generator.writeStartObject();
+                generator.writeStringField("type", type);
+                generator.writeObjectField("row", iterator.next());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+}
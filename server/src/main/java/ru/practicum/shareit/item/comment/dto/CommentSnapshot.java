@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.comment.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comments row as written by the data export.
+ */
+public record CommentSnapshot(Long id, String text, Long itemId, Long authorId, LocalDateTime created) {
+}
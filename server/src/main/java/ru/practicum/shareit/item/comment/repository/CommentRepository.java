@@ -1,19 +1,35 @@
 package ru.practicum.shareit.item.comment.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.export.DataExportService;
+import ru.practicum.shareit.item.comment.dto.CommentSnapshot;
 import ru.practicum.shareit.item.comment.entity.Comment;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemId(Long itemId);
 
+    @EntityGraph(attributePaths = "author")
     @Query("select c " +
             "from Comment as c " +
             "where c.item.id in (?1) " +
             "order by c.created DESC")
     List<Comment> findByItemIn(List<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = DataExportService.FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.item.comment.dto.CommentSnapshot(c.id, c.text, c.item.id, c.author.id, " +
+            "c.created) " +
+            "from Comment as c " +
+            "order by c.id")
+    Stream<CommentSnapshot> streamSnapshots();
 }
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,19 +17,33 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.FullItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.importer.ItemImportFormat;
+import ru.practicum.shareit.item.importer.ItemImportReport;
+import ru.practicum.shareit.item.importer.ItemImportService;
+import ru.practicum.shareit.item.importer.ItemRecordReader;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.NdjsonPages;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
     private final String headerUserId = "X-Sharer-User-Id";
 
     @PostMapping
@@ -35,21 +53,55 @@ public class ItemController {
         return itemService.create(ownerId, item);
     }
 
+    /**
+     * Imports the items of an NDJSON or CSV body, reading it as it arrives.
+     */
+    @PostMapping(path = "/import", consumes = {NdjsonPages.MEDIA_TYPE, "text/csv"})
+    public ItemImportReport importItems(@RequestHeader(headerUserId) Long ownerId,
+                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                        InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        try (ItemRecordReader reader = ItemImportFormat.of(mediaType).open(body, charset, objectMapper)) {
+            return itemImportService.importItems(ownerId, reader);
+        }
+    }
+
     @GetMapping("/{itemId}")
     public FullItemDto findItem(@RequestHeader(headerUserId) Long ownerId,
-                                @PathVariable Long itemId) {
+                                @PathVariable Long itemId,
+                                WebRequest request) {
+        if (request.checkNotModified(itemService.findItemTag(ownerId, itemId))) {
+            return null;
+        }
         return itemService.findItem(ownerId, itemId);
     }
 
     @GetMapping("/search")
     public Collection<ItemDto> findItemsForTenant(@RequestHeader(headerUserId) Long ownerId,
-                                                  @RequestParam(name = "text", defaultValue = "") String text) {
-        return itemService.findItemsForTenant(ownerId, text);
+                                                  @RequestParam(name = "text", defaultValue = "") String text,
+                                                  @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                  @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        return itemService.findItemsForTenant(ownerId, text, from, size);
     }
 
     @GetMapping
-    public Collection<FullItemDto> findAll(@RequestHeader(headerUserId) Long ownerId) {
-        return itemService.findAll(ownerId);
+    public Collection<FullItemDto> findAll(@RequestHeader(headerUserId) Long ownerId,
+                                           @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                           @RequestParam(name = "size", required = false) Integer size) {
+        return itemService.findAll(ownerId, from, size);
+    }
+
+    @GetMapping(produces = NdjsonPages.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestHeader(headerUserId) Long ownerId,
+                                                           @RequestParam(name = "after", defaultValue = "0")
+                                                           Long after) {
+        List<FullItemDto> firstPage = itemService.findAllAfter(ownerId, after, NdjsonPages.PAGE_SIZE);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonPages.MEDIA_TYPE))
+                .body(NdjsonPages.stream(objectMapper, firstPage, FullItemDto::getId,
+                        position -> itemService.findAllAfter(ownerId, position, NdjsonPages.PAGE_SIZE)));
     }
 
     @PatchMapping("/{itemId}")
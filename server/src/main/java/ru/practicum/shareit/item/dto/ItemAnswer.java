@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Item offered in answer to a request, read with its owner id straight from the items row.
+ */
+public record ItemAnswer(Long id, String name, Long ownerId, Long requestId) {
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.dto;
+
+/**
+ * Items row as written by the data export.
+ */
+public record ItemSnapshot(Long id, String name, String description, Boolean available, Long ownerId,
+                           Long requestId) {
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything the item detail depends on, read without loading the item, its comments or its bookings.
+ */
+public record ItemVersion(Long itemId, Long ownerId, Long version, Long lastCommentId,
+                          LocalDateTime lastBooking, LocalDateTime nextBooking) {
+    /**
+     * Entity tag of the item detail as {@code viewerId} sees it, booking dates are only shown to the owner.
+     */
+    public String tag(Long viewerId) {
+        String tag = "item-" + itemId + "-" + version + "-" + lastCommentId;
+        return ownerId.equals(viewerId) ? tag + "-" + lastBooking + "-" + nextBooking : tag;
+    }
+}
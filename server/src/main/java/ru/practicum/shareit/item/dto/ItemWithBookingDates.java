@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.item.entity.Item;
+
+import java.time.LocalDateTime;
+
+/**
+ * Item row together with the end of its latest past booking and the start of its earliest future booking.
+ */
+public record ItemWithBookingDates(Item item, LocalDateTime lastBooking, LocalDateTime nextBooking) {
+}
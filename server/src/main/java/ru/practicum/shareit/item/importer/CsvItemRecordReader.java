@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.importer;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Comma-separated values under a header row naming the columns {@code name}, {@code description},
+ * {@code available} and {@code requestId} in any order; other columns are ignored. A value may be enclosed in
+ * double quotes, with {@code ""} standing for a quote inside it, but a record cannot span lines.
+ */
+public class CsvItemRecordReader extends ItemRecordReader {
+    private Map<String, Integer> columns;
+
+    public CsvItemRecordReader(Reader reader) {
+        super(reader);
+    }
+
+    @Override
+    protected ItemDto parse(String text) {
+        List<String> values = split(text);
+        if (columns == null) {
+            columns = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                columns.putIfAbsent(values.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            return null;
+        }
+
+        ItemDto item = new ItemDto();
+        item.setName(value(values, "name"));
+        item.setDescription(value(values, "description"));
+        String available = value(values, "available");
+        if (available != null) {
+            if (!available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException("available must be true or false");
+            }
+            item.setAvailable(Boolean.parseBoolean(available));
+        }
+        String requestId = value(values, "requestid");
+        if (requestId != null) {
+            try {
+                item.setRequestId(Long.parseLong(requestId.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("requestId must be a number");
+            }
+        }
+        return item;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+
+    private static List<String> split(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
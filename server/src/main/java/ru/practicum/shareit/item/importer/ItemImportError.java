@@ -0,0 +1,4 @@
+package ru.practicum.shareit.item.importer;
+
+public record ItemImportError(long line, String message) {
+}
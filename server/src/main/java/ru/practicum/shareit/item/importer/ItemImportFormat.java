@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.pagination.NdjsonPages;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum ItemImportFormat {
+    NDJSON(NdjsonPages.MEDIA_TYPE, ".ndjson"),
+    CSV("text/csv", ".csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ItemImportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType.toString();
+    }
+
+    public static ItemImportFormat of(MediaType contentType) {
+        for (ItemImportFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(contentType)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported import format " + contentType);
+    }
+
+    public static ItemImportFormat of(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (ItemImportFormat format : values()) {
+            if (name.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported import file " + file + ", expected .ndjson or .csv");
+    }
+
+    public ItemRecordReader open(InputStream in, Charset charset, ObjectMapper mapper) {
+        InputStreamReader reader = new InputStreamReader(in, charset);
+        return switch (this) {
+            case NDJSON -> new NdjsonItemRecordReader(reader, mapper);
+            case CSV -> new CsvItemRecordReader(reader);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.importer;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.item-import")
+public class ItemImportProperties {
+    /**
+     * Items inserted per transaction.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Rejected records described in a report, the rest are only counted.
+     */
+    private int maxReportedErrors = 100;
+
+    /**
+     * File imported by {@link ItemImportRunner} on startup, after which the server exits.
+     */
+    private Path file;
+
+    /**
+     * Owner of the items imported from {@link #file}.
+     */
+    private Long ownerId;
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.importer;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * One record of an import, either the parsed item or why its line could not be parsed.
+ */
+public record ItemImportRecord(long line, ItemDto item, String error) {
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.importer;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ItemImportReport {
+    private long read;
+    private long imported;
+    private long rejected;
+    private List<ItemImportError> errors = new ArrayList<>();
+
+    void reject(long line, String message, int maxReportedErrors) {
+        rejected++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ItemImportError(line, message));
+        }
+    }
+}
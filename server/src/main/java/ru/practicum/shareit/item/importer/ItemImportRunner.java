@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Offline import: when {@code shareit.item-import.file} is set, imports that file for
+ * {@code shareit.item-import.owner-id} on startup and exits, with status 1 if any record was rejected.
+ * <pre>
+ * java -jar shareit-server.jar --spring.main.web-application-type=none \
+ *     --shareit.item-import.file=items.csv --shareit.item-import.owner-id=1
+ * </pre>
+ * The format follows the file extension, {@code .csv} or {@code .ndjson}, and the file is read as UTF-8.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.item-import.file")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ItemImportRunner implements ApplicationRunner {
+    ItemImportService importService;
+    ItemImportProperties properties;
+    ObjectMapper objectMapper;
+    ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path file = properties.getFile();
+        if (properties.getOwnerId() == null) {
+            throw new IllegalStateException("shareit.item-import.owner-id is required to import " + file);
+        }
+
+        ItemImportReport report;
+        try (InputStream in = Files.newInputStream(file);
+             ItemRecordReader reader = ItemImportFormat.of(file).open(in, StandardCharsets.UTF_8, objectMapper)) {
+            report = importService.importItems(properties.getOwnerId(), reader);
+        }
+
+        report.getErrors().forEach(error -> log.warn("{}:{}: {}", file, error.line(), error.message()));
+        if (report.getRejected() > report.getErrors().size()) {
+            log.warn("{} more rejected records not listed", report.getRejected() - report.getErrors().size());
+        }
+        System.exit(SpringApplication.exit(context, () -> report.getRejected() == 0 ? 0 : 1));
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.item.importer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.service.UserReferences;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports items from a stream of records. Records are validated as they are read and inserted in chunks of
+ * {@code shareit.item-import.chunk-size}, one transaction per chunk, so neither memory nor transactions grow with
+ * the input. An invalid record is reported and skipped; a committed chunk stays when a later one fails.
+ */
+@Slf4j
+@Service
+@EnableConfigurationProperties(ItemImportProperties.class)
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ItemImportService {
+    ItemRepository repository;
+    ItemSearchEngine searchEngine;
+    UserReferences userReferences;
+    TransactionTemplate transactionTemplate;
+    EntityManager entityManager;
+    Validator validator;
+    ItemImportProperties properties;
+
+    public ItemImportReport importItems(Long ownerId, ItemRecordReader reader) {
+        userReferences.requireExists(ownerId);
+
+        ItemImportReport report = new ItemImportReport();
+        List<ItemImportRecord> chunk = new ArrayList<>(properties.getChunkSize());
+        try {
+            ItemImportRecord record;
+            while ((record = reader.next()) != null) {
+                report.setRead(report.getRead() + 1);
+                String error = record.error() != null ? record.error() : validate(record.item());
+                if (error != null) {
+                    report.reject(record.line(), error, properties.getMaxReportedErrors());
+                    continue;
+                }
+
+                chunk.add(record);
+                if (chunk.size() == properties.getChunkSize()) {
+                    insert(ownerId, chunk, report);
+                    chunk.clear();
+                }
+            }
+            insert(ownerId, chunk, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Imported {} of {} items for user {}, {} rejected", report.getImported(), report.getRead(),
+                ownerId, report.getRejected());
+        return report;
+    }
+
+    private void insert(Long ownerId, List<ItemImportRecord> chunk, ItemImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            save(ownerId, chunk);
+            report.setImported(report.getImported() + chunk.size());
+        } catch (DataAccessException e) {
+            // one bad row fails the whole batch, so find it by inserting the rows one by one
+            log.warn("Chunk ending at line {} failed, retrying its items one by one", chunk.getLast().line(), e);
+            for (ItemImportRecord record : chunk) {
+                try {
+                    save(ownerId, List.of(record));
+                    report.setImported(report.getImported() + 1);
+                } catch (DataAccessException rowFailure) {
+                    report.reject(record.line(), rowFailure.getMostSpecificCause().getMessage(),
+                            properties.getMaxReportedErrors());
+                }
+            }
+        }
+        log.info("Item import progress: {} read, {} imported, {} rejected", report.getRead(), report.getImported(),
+                report.getRejected());
+    }
+
+    private void save(Long ownerId, List<ItemImportRecord> records) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                User owner = userReferences.getReference(ownerId);
+                for (ItemImportRecord record : records) {
+                    Item item = repository.save(ItemMapper.toEntity(owner, record.item()));
+                    searchEngine.index(item);
+                }
+            });
+        } finally {
+            // an enclosing session would outlive the transaction, don't let it collect every imported item
+            entityManager.clear();
+        }
+    }
+
+    private String validate(ItemDto item) {
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
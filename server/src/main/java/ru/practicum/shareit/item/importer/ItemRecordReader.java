@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item.importer;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads an import one line at a time, so memory does not grow with the size of the input. Blank lines are
+ * skipped, a line that cannot be parsed becomes a record with an error.
+ */
+public abstract class ItemRecordReader implements Closeable {
+    private final BufferedReader reader;
+    private long line;
+
+    protected ItemRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * Next record, or {@code null} at the end of the input.
+     */
+    public ItemImportRecord next() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+
+            try {
+                ItemDto item = parse(text);
+                if (item != null) {
+                    return new ItemImportRecord(line, item, null);
+                }
+            } catch (IllegalArgumentException e) {
+                return new ItemImportRecord(line, null, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Item of a non-blank line, or {@code null} for a line that holds no item, such as a header.
+     *
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    protected abstract ItemDto parse(String text);
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
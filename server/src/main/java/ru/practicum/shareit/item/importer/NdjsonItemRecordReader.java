@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.Reader;
+
+/**
+ * One JSON object per line with the fields of {@link ItemDto}.
+ */
+public class NdjsonItemRecordReader extends ItemRecordReader {
+    private final ObjectReader itemReader;
+
+    public NdjsonItemRecordReader(Reader reader, ObjectMapper mapper) {
+        super(reader);
+        this.itemReader = mapper.readerFor(ItemDto.class);
+    }
+
+    @Override
+    protected ItemDto parse(String text) {
+        try {
+            return itemReader.readValue(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage());
+        }
+    }
+}
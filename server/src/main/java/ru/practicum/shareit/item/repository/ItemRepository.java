@@ -1,26 +1,95 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.export.DataExportService;
+import ru.practicum.shareit.item.dto.ItemAnswer;
+import ru.practicum.shareit.item.dto.ItemSnapshot;
+import ru.practicum.shareit.item.dto.ItemVersion;
+import ru.practicum.shareit.item.dto.ItemWithBookingDates;
 import ru.practicum.shareit.item.entity.Item;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByUserId(Long ownerId);
+    /**
+     * Dates come from the item_booking_summary read model, one primary key lookup per item
+     * however many bookings the item has.
+     */
+    String WITH_BOOKING_DATES = "select new ru.practicum.shareit.item.dto.ItemWithBookingDates(i, " +
+            "s.lastBooking, s.nextBooking) " +
+            "from Item as i " +
+            "left join ItemBookingSummary as s on s.itemId = i.id ";
 
-    @Query("select it " +
-            "from Item as it " +
-            "join it.user as u " +
+    @Query(WITH_BOOKING_DATES +
+            "where i.user.id = :ownerId " +
+            "order by i.id")
+    List<ItemWithBookingDates> findAllWithBookingDatesByUserId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(WITH_BOOKING_DATES +
+            "where i.user.id = :ownerId " +
+            "and i.id > :afterId " +
+            "order by i.id")
+    List<ItemWithBookingDates> findAllWithBookingDatesByUserIdAfter(@Param("ownerId") Long ownerId,
+                                                                    @Param("afterId") Long afterId,
+                                                                    Pageable pageable);
+
+    @Query(WITH_BOOKING_DATES +
+            "where i.id = :itemId")
+    Optional<ItemWithBookingDates> findWithBookingDatesById(@Param("itemId") Long itemId);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemVersion(i.id, i.user.id, i.version, " +
+            "(select max(c.id) from Comment as c where c.item = i), s.lastBooking, s.nextBooking) " +
+            "from Item as i " +
+            "left join ItemBookingSummary as s on s.itemId = i.id " +
+            "where i.id = :itemId")
+    Optional<ItemVersion> findVersionById(@Param("itemId") Long itemId);
+
+    /**
+     * Loads the item with a row lock held until the transaction ends, serializing bookings of this one item.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Item> findLockedById(Long itemId);
+
+    /**
+     * {@link #findLockedById} for several items, locked in id order so that concurrent batches do not deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Item> findAllLockedByIdInOrderById(Collection<Long> itemIds);
+
+    @Query(value = "select it.id " +
+            "from items as it " +
             "where it.available = true " +
-            "and (lower(it.name) like lower(concat('%', ?1, '%')) " +
-            "or lower(it.description) like lower(concat('%', ?1, '%'))) ")
-    Collection<Item> findItemsForTenant(String text);
+            "and (lower(it.name) like '%' || lower(:text) || '%' " +
+            "or lower(it.description) like '%' || lower(:text) || '%') " +
+            "order by similarity(lower(it.name), lower(:text)) desc, " +
+            "ts_rank(to_tsvector('simple', it.name || ' ' || it.description), plainto_tsquery('simple', :text)) desc, " +
+            "it.id " +
+            "limit :size offset :from", nativeQuery = true)
+    List<Long> searchAvailableItemIds(@Param("text") String text, @Param("from") int from, @Param("size") int size);
 
-    Collection<Item> findByRequestId(Long requestId);
+    @Query("select new ru.practicum.shareit.item.dto.ItemAnswer(i.id, i.name, i.user.id, i.requestId) " +
+            "from Item as i " +
+            "where i.requestId in :requestIds " +
+            "order by i.id")
+    List<ItemAnswer> findAnswersByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
 
-    Collection<Item> findByRequestIdIn(List<Long> requestIds);
-}
\ No newline at end of file
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = DataExportService.FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.item.dto.ItemSnapshot(i.id, i.name, i.description, i.available, " +
+            "i.user.id, i.requestId) " +
+            "from Item as i " +
+            "order by i.id")
+    Stream<ItemSnapshot> streamSnapshots();
+}
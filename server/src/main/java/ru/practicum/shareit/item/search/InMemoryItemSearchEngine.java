@@ -0,0 +1,201 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram inverted index kept in the JVM, for H2 and test runs. Writes made inside a transaction are seen
+ * by that transaction at once and reach the shared index only when it commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository repository;
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        documents.clear();
+        postings.clear();
+        repository.findAll().forEach(item -> put(Document.of(item)));
+        log.info("Item search index rebuilt with {} items", documents.size());
+    }
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        String query = text.toLowerCase();
+        Map<Long, Document> pending = pending();
+
+        Collection<Long> ids = candidates(query);
+        if (!pending.isEmpty()) {
+            ids = new HashSet<>(ids);
+            ids.addAll(pending.keySet());
+        }
+
+        return ids.stream()
+                .map(id -> pending.containsKey(id) ? pending.get(id) : documents.get(id))
+                .filter(Objects::nonNull)
+                .filter(Document::available)
+                .map(document -> new Match(document.id(), document.score(query)))
+                .filter(match -> match.score() > 0)
+                .sorted(Comparator.comparingInt(Match::score).reversed()
+                        .thenComparing(Match::id))
+                .skip(from)
+                .limit(size)
+                .map(Match::id)
+                .toList();
+    }
+
+    @Override
+    public void index(Item item) {
+        write(item.getId(), Document.of(item));
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        write(itemId, null);
+    }
+
+    /**
+     * Outside a transaction the shared index changes at once, inside one the change waits in the
+     * transaction's pending writes until commit. A {@code null} document stands for a removal.
+     */
+    @SuppressWarnings("unchecked")
+    private void write(Long itemId, Document document) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(itemId, document);
+            return;
+        }
+
+        Map<Long, Document> pending = (Map<Long, Document>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Long, Document> writes = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, writes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writes.forEach(InMemoryItemSearchEngine.this::apply);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryItemSearchEngine.this);
+                }
+            });
+            pending = writes;
+        }
+        pending.put(itemId, document);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Document> pending() {
+        Object pending = TransactionSynchronizationManager.getResource(this);
+        return pending == null ? Map.of() : (Map<Long, Document>) pending;
+    }
+
+    private void apply(Long itemId, Document document) {
+        if (document == null) {
+            delete(itemId);
+        } else {
+            put(document);
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.keySet();
+        }
+
+        Set<Long> result = null;
+        for (String gram : grams(query)) {
+            Set<Long> ids = postings.getOrDefault(gram, Set.of());
+            if (result == null) {
+                result = new HashSet<>(ids);
+            } else {
+                result.retainAll(ids);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private synchronized void put(Document document) {
+        delete(document.id());
+        documents.put(document.id(), document);
+        for (String gram : grams(document.text())) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(document.id());
+        }
+    }
+
+    private synchronized void delete(Long itemId) {
+        Document previous = documents.remove(itemId);
+        if (previous != null) {
+            for (String gram : grams(previous.text())) {
+                postings.computeIfPresent(gram, (key, ids) -> {
+                    ids.remove(itemId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private record Match(Long id, int score) {
+    }
+
+    private record Document(Long id, String name, String description, boolean available) {
+        static Document of(Item item) {
+            return new Document(item.getId(),
+                    item.getName().toLowerCase(),
+                    item.getDescription().toLowerCase(),
+                    Boolean.TRUE.equals(item.getAvailable()));
+        }
+
+        String text() {
+            return name + "\n" + description;
+        }
+
+        int score(String query) {
+            if (name.startsWith(query)) {
+                return 3;
+            }
+            if (name.contains(query)) {
+                return 2;
+            }
+            return description.contains(query) ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.entity.Item;
+
+import java.util.List;
+
+/**
+ * Full-text lookup of available items. Implementations return item ids ordered by relevance,
+ * selected with the {@code shareit.search.engine} property.
+ */
+public interface ItemSearchEngine {
+    List<Long> search(String text, int from, int size);
+
+    void index(Item item);
+
+    void remove(Long itemId);
+}
@@ -1,13 +1,15 @@
 package ru.practicum.shareit.item.service;
 
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.PermissionException;
@@ -20,25 +22,31 @@ import ru.practicum.shareit.item.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.dto.FullItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemWithBookingDates;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.Pages;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserReferences;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
 
 @Slf4j
 @Service
+@Timed("shareit.service")
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 @RequiredArgsConstructor
 public class ItemService {
@@ -46,33 +54,49 @@ public class ItemService {
     final UserRepository userRepository;
     final BookingRepository bookingRepository;
     final CommentRepository commentRepository;
+    final ItemSearchEngine searchEngine;
+    final UserReferences userReferences;
 
     @Transactional
     public ItemDto create(Long ownerId, ItemDto itemDto) {
-        User findUser = findUserById(ownerId);
+        User findUser = userReferences.getReference(ownerId);
         Item item = ItemMapper.toEntity(findUser, itemDto);
         item = repository.save(item);
+        searchEngine.index(item);
 
         return ItemMapper.toDto(item);
     }
 
     @Transactional(readOnly = true)
     public FullItemDto findItem(Long ownerId, Long itemId) {
-        Item item = findById(itemId);
+        ItemWithBookingDates itemWithDates = repository.findWithBookingDatesById(itemId)
+                .orElseThrow(() -> new NotFoundException(Item.class, itemId));
+        Item item = itemWithDates.item();
 
         if (item.getUser().getId().equals(ownerId)) {
-            return ItemMapper.mapToFullItemDto(findById(itemId),
+            return ItemMapper.mapToFullItemDto(item,
                     commentRepository.findAllByItemId(itemId),
-                    getLastBookingEndDate(itemId),
-                    getNextBookingStartDate(itemId));
+                    Optional.ofNullable(itemWithDates.lastBooking()),
+                    Optional.ofNullable(itemWithDates.nextBooking()));
         }
 
-        return ItemMapper.mapToFullItemDto(findById(itemId), commentRepository.findAllByItemId(itemId));
+        return ItemMapper.mapToFullItemDto(item, commentRepository.findAllByItemId(itemId));
+    }
+
+    /**
+     * Entity tag of {@link #findItem(Long, Long)} for the same viewer, read in one statement.
+     */
+    @Transactional(readOnly = true)
+    public String findItemTag(Long viewerId, Long itemId) {
+        return repository.findVersionById(itemId)
+                .map(version -> version.tag(viewerId))
+                .orElseThrow(() -> new NotFoundException(Item.class, itemId));
     }
 
     @Transactional(readOnly = true)
-    public Collection<FullItemDto> findAll(Long ownerId) {
-        List<Item> userItems = repository.findAllByUserId(ownerId);
+    public Collection<FullItemDto> findAll(Long ownerId, Integer from, Integer size) {
+        Pageable page = Pages.of(from, size);
+        List<ItemWithBookingDates> userItems = repository.findAllWithBookingDatesByUserId(ownerId, page);
 
         if (!userItems.isEmpty()) {
             return fillItemData(userItems);
@@ -81,13 +105,35 @@ public class ItemService {
         return Collections.emptyList();
     }
 
+    /**
+     * Owner items with ids above {@code afterId}, in id order.
+     */
     @Transactional(readOnly = true)
-    public Collection<ItemDto> findItemsForTenant(Long ownerId, String text) {
+    public List<FullItemDto> findAllAfter(Long ownerId, Long afterId, Integer size) {
+        List<ItemWithBookingDates> userItems = repository.findAllWithBookingDatesByUserIdAfter(ownerId, afterId,
+                PageRequest.of(0, size));
+
+        if (!userItems.isEmpty()) {
+            return fillItemData(userItems);
+        }
+
+        return Collections.emptyList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ItemDto> findItemsForTenant(Long ownerId, String text, Integer from, Integer size) {
+        Pages.validate(from, size);
         if (StringUtils.isBlank(text)) {
             return new ArrayList<>();
         }
 
-        return repository.findItemsForTenant(text).stream()
+        List<Long> itemIds = searchEngine.search(text, from, size);
+        Map<Long, Item> items = repository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
                 .map(ItemMapper::toDto)
                 .collect(toList());
     }
@@ -100,6 +146,7 @@ public class ItemService {
             throw new PermissionException(ownerId);
         }
         Item updatedItem = repository.save(ItemMapper.update(item, itemDto));
+        searchEngine.index(updatedItem);
         return ItemMapper.toDto(updatedItem);
     }
 
@@ -112,6 +159,7 @@ public class ItemService {
             throw new PermissionException(ownerId);
         }
         repository.delete(item);
+        searchEngine.remove(itemId);
     }
 
     @Transactional
@@ -136,56 +184,27 @@ public class ItemService {
     }
 
     private User findUserById(Long userId) {
-        return userRepository.findById(userId)
+        return userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException(User.class, userId));
     }
 
-    private Optional<LocalDateTime> getLastBookingEndDate(Long itemId) {
-        return bookingRepository.findLastBookingEndByItemId(itemId)
-                .stream()
-                .max(Comparator.naturalOrder());
-    }
-
-    private Optional<LocalDateTime> getNextBookingStartDate(Long itemId) {
-        return bookingRepository.findNextBookingStartByItemId(itemId)
-                .stream()
-                .min(Comparator.naturalOrder());
-    }
-
-    private List<FullItemDto> fillItemData(List<Item> userItems) {
+    private List<FullItemDto> fillItemData(List<ItemWithBookingDates> userItems) {
         List<Long> itemIds = userItems.stream()
-                .map(Item::getId)
+                .map(userItem -> userItem.item().getId())
                 .toList();
 
-        Map<Long, Booking> lastBookings = bookingRepository
-                .findLastBookingsByItemIds(itemIds)
-                .stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
-
-        Map<Long, Booking> nextBookings = bookingRepository
-                .findNextBookingsByItemIds(itemIds)
-                .stream()
-                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking));
-
         Map<Long, List<Comment>> commentsByItemId = commentRepository
                 .findByItemIn(itemIds)
                 .stream()
                 .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
 
         return userItems.stream()
-                .map(item -> {
-                    Long itemId = item.getId();
-                    Booking lastBooking = lastBookings.get(itemId);
-                    Booking nextBooking = nextBookings.get(itemId);
-                    List<Comment> comments = commentsByItemId.getOrDefault(itemId, Collections.emptyList());
-
-                    return ItemMapper.mapToFullItemDto(
-                            item,
-                            comments,
-                            Optional.ofNullable(lastBooking).map(Booking::getEnd),
-                            Optional.ofNullable(nextBooking).map(Booking::getStart)
-                    );
-                })
+                .map(userItem -> ItemMapper.mapToFullItemDto(
+                        userItem.item(),
+                        commentsByItemId.getOrDefault(userItem.item().getId(), Collections.emptyList()),
+                        Optional.ofNullable(userItem.lastBooking()),
+                        Optional.ofNullable(userItem.nextBooking())
+                ))
                 .toList();
     }
 }
\ No newline at end of file
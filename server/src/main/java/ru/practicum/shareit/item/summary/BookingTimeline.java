@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.summary;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking dates of one item as seen at a given moment: the latest end before it, the earliest start after it
+ * and the earliest end after it.
+ */
+public record BookingTimeline(LocalDateTime lastEnd, LocalDateTime nextStart, LocalDateTime nextEnd) {
+
+    /**
+     * The moment this timeline stops being true, or {@code null} when no booking starts or ends later on.
+     */
+    public LocalDateTime refreshAt() {
+        if (nextStart == null || nextEnd != null && nextEnd.isBefore(nextStart)) {
+            return nextEnd;
+        }
+        return nextStart;
+    }
+
+    public ItemBookingSummary toSummary(Long itemId) {
+        return new ItemBookingSummary(itemId, lastEnd, nextStart, refreshAt());
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.summary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model row with the booking dates shown for an item. It is exact until {@code refreshAt}, when a booking
+ * of the item starts or ends and the roller has to compute it again.
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = {"itemId"})
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "item_booking_summary")
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "last_booking")
+    private LocalDateTime lastBooking;
+
+    @Column(name = "next_booking")
+    private LocalDateTime nextBooking;
+
+    @Column(name = "refresh_at")
+    private LocalDateTime refreshAt;
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/bookingsummary} lists items whose summary disagrees with their bookings,
+ * {@code POST /actuator/bookingsummary} computes every summary again. Both are served on the management port only.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "bookingsummary")
+public class ItemBookingSummaryEndpoint {
+    private final ItemBookingSummaryService summaryService;
+
+    @ReadOperation
+    public Map<String, List<Long>> check() {
+        return Map.of("inconsistentItemIds", summaryService.findInconsistentItemIds());
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("rebuiltItems", summaryService.rebuild());
+    }
+}
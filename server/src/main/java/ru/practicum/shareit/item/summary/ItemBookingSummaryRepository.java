@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item.summary;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+    String LAST_END = "(select max(b.end_date) from bookings as b where b.item_id = i.id and b.end_date < :now)";
+
+    String NEXT_START = "(select min(b.start_date) from bookings as b where b.item_id = i.id and b.start_date > :now)";
+
+    String NEXT_END = "(select min(b.end_date) from bookings as b where b.item_id = i.id and b.end_date > :now)";
+
+    /**
+     * The earlier of {@link #NEXT_START} and {@link #NEXT_END}, ignoring whichever of them is null.
+     */
+    String REFRESH_AT = "least(coalesce(" + NEXT_START + ", " + NEXT_END + "), " +
+            "coalesce(" + NEXT_END + ", " + NEXT_START + "))";
+
+    @Query("select new ru.practicum.shareit.item.summary.BookingTimeline(" +
+            "(select max(b.end) from Booking as b where b.item = i and b.end < :now), " +
+            "(select min(b.start) from Booking as b where b.item = i and b.start > :now), " +
+            "(select min(b.end) from Booking as b where b.item = i and b.end > :now)) " +
+            "from Item as i " +
+            "where i.id = :itemId")
+    Optional<BookingTimeline> findTimeline(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    /**
+     * Folds a booking starting after {@code now} into a summary that is still exact at {@code now}.
+     * Returns 0 when there is no such summary and the item has to be refreshed instead.
+     */
+    @Modifying
+    @Query("update ItemBookingSummary as s " +
+            "set s.nextBooking = least(coalesce(s.nextBooking, :start), :start), " +
+            "s.refreshAt = least(coalesce(s.refreshAt, :start), :start) " +
+            "where s.itemId = :itemId " +
+            "and (s.refreshAt is null or s.refreshAt > :now)")
+    int includeNextBooking(@Param("itemId") Long itemId,
+                           @Param("start") LocalDateTime start,
+                           @Param("now") LocalDateTime now);
+
+    @Query("select s.itemId " +
+            "from ItemBookingSummary as s " +
+            "where s.refreshAt <= :now " +
+            "order by s.refreshAt")
+    List<Long> findDueItemIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Items that have bookings or a summary, in id order after {@code afterId}.
+     */
+    @Query("select i.id " +
+            "from Item as i " +
+            "where i.id > :afterId " +
+            "and (exists (select b.id from Booking as b where b.item = i) " +
+            "or exists (select s.itemId from ItemBookingSummary as s where s.itemId = i.id)) " +
+            "order by i.id")
+    List<Long> findSummarizedItemIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Items whose summary, or its absence, disagrees with their bookings. Summaries already waiting for the roller
+     * are left out.
+     */
+    @Query(value = "select i.id " +
+            "from items as i " +
+            "left join item_booking_summary as s on s.item_id = i.id " +
+            "where (s.refresh_at is null or s.refresh_at > :now) " +
+            "and (s.last_booking is distinct from " + LAST_END + " " +
+            "or s.next_booking is distinct from " + NEXT_START + " " +
+            "or s.refresh_at is distinct from " + REFRESH_AT + ") " +
+            "order by i.id", nativeQuery = true)
+    List<Long> findInconsistentItemIds(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps {@link ItemBookingSummary} rows in step with bookings. Every write to an item's summary happens while
+ * the item row is locked, the same lock that serializes bookings of that item.
+ */
+@Slf4j
+@Service
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+@RequiredArgsConstructor
+public class ItemBookingSummaryService {
+    private static final int ROLL_BATCH_SIZE = 100;
+
+    final ItemBookingSummaryRepository repository;
+    final ItemRepository itemRepository;
+    final TransactionTemplate transactionTemplate;
+
+    /**
+     * Called for a booking just saved while its item is locked.
+     */
+    @Transactional
+    public void onBookingCreated(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        Long itemId = booking.getItem().getId();
+
+        if (!booking.getStart().isAfter(now)
+                || repository.includeNextBooking(itemId, booking.getStart(), now) == 0) {
+            refresh(itemId);
+        }
+    }
+
+    /**
+     * Computes the summary of one item again from its bookings. The caller holds the item lock.
+     */
+    @Transactional
+    public void refresh(Long itemId) {
+        repository.findTimeline(itemId, LocalDateTime.now())
+                .map(timeline -> timeline.toSummary(itemId))
+                .ifPresent(repository::save);
+    }
+
+    /**
+     * Recomputes the summaries whose next booking has started or whose current booking has ended,
+     * one item per transaction.
+     */
+    @Scheduled(initialDelayString = "${shareit.booking-summary.roll-delay}",
+            fixedDelayString = "${shareit.booking-summary.roll-delay}")
+    public void roll() {
+        int rolled = 0;
+        List<Long> due;
+        do {
+            due = repository.findDueItemIds(LocalDateTime.now(), PageRequest.of(0, ROLL_BATCH_SIZE));
+            due.forEach(itemId -> transactionTemplate.executeWithoutResult(status ->
+                    itemRepository.findLockedById(itemId).ifPresent(item -> refresh(itemId))));
+            rolled += due.size();
+        } while (due.size() == ROLL_BATCH_SIZE);
+
+        if (rolled > 0) {
+            log.info("Rolled booking summaries of {} items", rolled);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findInconsistentItemIds() {
+        return repository.findInconsistentItemIds(LocalDateTime.now());
+    }
+
+    /**
+     * Computes every summary again from the bookings table, a batch of items per transaction. Each batch holds
+     * the locks of its items, so bookings made meanwhile are neither lost nor written twice.
+     */
+    public int rebuild() {
+        int rebuilt = 0;
+        List<Long> batch = repository.findSummarizedItemIdsAfter(0L, PageRequest.of(0, ROLL_BATCH_SIZE));
+        while (!batch.isEmpty()) {
+            List<Long> itemIds = batch;
+            transactionTemplate.executeWithoutResult(status ->
+                    itemRepository.findAllLockedByIdInOrderById(itemIds).forEach(item -> refresh(item.getId())));
+            rebuilt += batch.size();
+            batch = batch.size() < ROLL_BATCH_SIZE ? List.of()
+                    : repository.findSummarizedItemIdsAfter(batch.getLast(), PageRequest.of(0, ROLL_BATCH_SIZE));
+        }
+
+        log.info("Booking summaries rebuilt for {} items", rebuilt);
+        return rebuilt;
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.logs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.access-log")
+public class AccessLogProperties {
+    /**
+     * Bytes of a request or response body kept for the log, the rest is only counted.
+     */
+    private int maxBodyBytes = 1024;
+
+    /**
+     * Share of requests logged when no pattern of {@link #endpointSampleRates} matches, from 0 to 1.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Sample rates by ant-style path pattern, the first matching pattern wins.
+     */
+    private Map<String, Double> endpointSampleRates = new LinkedHashMap<>();
+}
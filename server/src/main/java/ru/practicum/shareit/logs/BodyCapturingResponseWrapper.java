@@ -0,0 +1,119 @@
+package ru.practicum.shareit.logs;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Writes the body straight through to the response and keeps a copy of its first bytes. Unlike
+ * {@link org.springframework.web.util.ContentCachingResponseWrapper} the body is never held in memory as a whole.
+ */
+class BodyCapturingResponseWrapper extends HttpServletResponseWrapper {
+    private final int limit;
+    private final ByteArrayOutputStream head;
+    private long contentLength;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    BodyCapturingResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        this.limit = limit;
+        this.head = new ByteArrayOutputStream(Math.min(limit, 256));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        flushWriter();
+        super.flushBuffer();
+    }
+
+    /**
+     * Pushes out whatever the application left in the writer.
+     */
+    void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    byte[] getCapturedBody() {
+        return head.toByteArray();
+    }
+
+    long getContentLength() {
+        return contentLength;
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        contentLength += length;
+        int room = limit - head.size();
+        if (room > 0) {
+            head.write(bytes, offset, Math.min(room, length));
+        }
+    }
+
+    private class CapturingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        CapturingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            contentLength++;
+            if (head.size() < limit) {
+                head.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            capture(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
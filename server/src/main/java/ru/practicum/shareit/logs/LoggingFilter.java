@@ -4,49 +4,104 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Access log of the server. One line per sampled request is written at INFO, the heads of its bodies at DEBUG.
+ * Bodies are only captured while DEBUG is enabled for this logger, and never more than
+ * {@link AccessLogProperties#getMaxBodyBytes()} of them.
+ */
 @Slf4j
 @Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AccessLogProperties.class)
 public class LoggingFilter extends OncePerRequestFilter {
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final AccessLogProperties properties;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        if (!log.isInfoEnabled() || !isSampled(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long started = System.nanoTime();
+        if (!log.isDebugEnabled()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                logAccess(request, response, started);
+            }
+            return;
+        }
+
+        ContentCachingRequestWrapper wrappedRequest =
+                new ContentCachingRequestWrapper(request, properties.getMaxBodyBytes());
+        BodyCapturingResponseWrapper wrappedResponse =
+                new BodyCapturingResponseWrapper(response, properties.getMaxBodyBytes());
 
         try {
             filterChain.doFilter(wrappedRequest, wrappedResponse);
         } finally {
-            logRequest(wrappedRequest);
-
-            logResponse(wrappedResponse);
+            wrappedResponse.flushWriter();
+            logAccess(request, response, started);
+            logBodies(wrappedRequest, wrappedResponse);
+        }
+    }
 
-            wrappedResponse.copyBodyToResponse();
+    private boolean isSampled(HttpServletRequest request) {
+        double rate = properties.getSampleRate();
+        for (Map.Entry<String, Double> endpoint : properties.getEndpointSampleRates().entrySet()) {
+            if (PATH_MATCHER.match(endpoint.getKey(), request.getRequestURI())) {
+                rate = endpoint.getValue();
+                break;
+            }
         }
+        return rate >= 1.0 || rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
     }
 
-    private void logRequest(ContentCachingRequestWrapper request) {
-        String requestBody = getBodyAsString(request.getContentAsByteArray());
-        log.info("Request: Method = {}, URI = {}, Body = {}", request.getMethod(), request.getRequestURI(), requestBody);
+    private void logAccess(HttpServletRequest request, HttpServletResponse response, long started) {
+        log.info("Request: Method = {}, URI = {}, Response: Status = {}, Time = {} ms",
+                request.getMethod(), request.getRequestURI(), response.getStatus(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
     }
 
-    private void logResponse(ContentCachingResponseWrapper response) {
-        String responseBody = getBodyAsString(response.getContentAsByteArray());
-        log.info("Response: Status = {}, Body = {}", response.getStatus(), responseBody);
+    private void logBodies(ContentCachingRequestWrapper request, BodyCapturingResponseWrapper response) {
+        log.debug("Request: Method = {}, URI = {}, Body = {}", request.getMethod(), request.getRequestURI(),
+                getBodyAsString(request.getContentAsByteArray(), request.getContentLengthLong(),
+                        request.getCharacterEncoding()));
+        if (request.isAsyncStarted()) {
+            log.debug("Response: Status = {}, Body = <streamed>", response.getStatus());
+            return;
+        }
+        log.debug("Response: Status = {}, Body = {}", response.getStatus(),
+                getBodyAsString(response.getCapturedBody(), response.getContentLength(),
+                        response.getCharacterEncoding()));
     }
 
-    private String getBodyAsString(byte[] content) {
+    private String getBodyAsString(byte[] content, long length, String encoding) {
         if (content.length == 0) {
             return "";
         }
-        return new String(content, StandardCharsets.UTF_8);
+        Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        String body = new String(content, charset);
+        return length > content.length ? body + "... (" + length + " bytes)" : body;
     }
 }
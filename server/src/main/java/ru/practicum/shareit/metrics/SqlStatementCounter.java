@@ -0,0 +1,35 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()}.
+ * Statements prepared outside of such a span are passed through uncounted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<int[]> statements = new ThreadLocal<>();
+
+    public void start() {
+        statements.set(new int[1]);
+    }
+
+    public int count() {
+        int[] counted = statements.get();
+        return counted == null ? 0 : counted[0];
+    }
+
+    public int stop() {
+        int counted = count();
+        statements.remove();
+        return counted;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counted = statements.get();
+        if (counted != null) {
+            counted[0]++;
+        }
+        return sql;
+    }
+}
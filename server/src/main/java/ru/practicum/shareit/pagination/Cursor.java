@@ -0,0 +1,63 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset position "after (timestamp, id)" handed out to clients in the {@link #NEXT_CURSOR_HEADER} header.
+ */
+public record Cursor(LocalDateTime timestamp, Long id) {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final Cursor FIRST = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    /**
+     * Starting position of listings ordered newest first.
+     */
+    public static final Cursor LAST = new Cursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = ",";
+
+    public static Cursor decode(String value) {
+        return decode(value, FIRST);
+    }
+
+    public static Cursor decode(String value, Cursor start) {
+        if (value == null || value.isBlank()) {
+            return start;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 2);
+            return new Cursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new ValidationException("Invalid cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Position after the last row of a full page; none for an unpaged ({@code size} null) or a short one.
+     */
+    public static <T> Optional<String> next(List<T> page, Integer size,
+                                            Function<T, LocalDateTime> timestamp, Function<T, Long> id) {
+        if (size == null || page.isEmpty() || page.size() < size) {
+            return Optional.empty();
+        }
+
+        T last = page.getLast();
+        return Optional.of(new Cursor(timestamp.apply(last), id.apply(last)).encode());
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes a keyset-paged listing as newline-delimited JSON, one object per line. Only one page is held in memory
+ * at a time, and every page is read by its own short service call, so a slow client never holds a database
+ * connection while the response is being written.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class NdjsonPages {
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    public static final int PAGE_SIZE = 500;
+
+    /**
+     * @param firstPage read by the caller up front, so that validation errors still get a regular error response
+     * @param position  keyset position right after a row
+     * @param nextPage  page of up to {@link #PAGE_SIZE} rows following a position
+     */
+    public static <T, P> StreamingResponseBody stream(ObjectMapper mapper, List<T> firstPage,
+                                                      Function<T, P> position, Function<P, List<T>> nextPage) {
+        ObjectWriter writer = mapper.writer();
+
+        return out -> {
+            List<T> page = firstPage;
+            while (true) {
+                for (T row : page) {
+                    out.write(writer.writeValueAsBytes(row));
+                    out.write('\n');
+                }
+                out.flush();
+
+                if (page.size() < PAGE_SIZE) {
+                    return;
+                }
+                page = nextPage.apply(position.apply(page.getLast()));
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Offset paging shared by the listing endpoints: no {@code size} means every row, as before paging existed.
+ */
+public final class Pages {
+    private Pages() {
+    }
+
+    /**
+     * Rows {@code from} to {@code from + size - 1}, {@code from} need not be a multiple of {@code size}.
+     */
+    public static Pageable of(Integer from, Integer size) {
+        validate(from, size);
+        if (size == null) {
+            return Pageable.unpaged();
+        }
+        return new OffsetPageRequest(from == null ? 0 : from, size);
+    }
+
+    /**
+     * For listings that take {@code from} and {@code size} as they are, such as item search.
+     */
+    public static void validate(Integer from, Integer size) {
+        if (from != null && from < 0) {
+            throw new ValidationException("from must not be negative: " + from);
+        }
+        if (size != null && size <= 0) {
+            throw new ValidationException("size must be positive: " + size);
+        }
+    }
+}
@@ -1,19 +1,28 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.NewRequest;
 import ru.practicum.shareit.request.dto.UpdateRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
-import java.util.Collection;
+import java.time.Duration;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping(path = "/requests")
 public class ItemRequestController {
+    /**
+     * How long a page of the feed may be reused, new requests of other users show up at most this late.
+     */
+    private static final Duration FEED_MAX_AGE = Duration.ofSeconds(5);
+
     private final ItemRequestService itemRequestService;
 
     private final String headerUserId = "X-Sharer-User-Id";
@@ -31,13 +40,27 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public Collection<ItemRequestDto> findAllByRequestorId(@RequestHeader(headerUserId) Long requestorId) {
-        return itemRequestService.findAllByRequestorId(requestorId);
+    public List<ItemRequestDto> findAllByRequestorId(@RequestHeader(headerUserId) Long requestorId,
+                                                     @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                     @RequestParam(name = "size", required = false) Integer size) {
+        return itemRequestService.findAllByRequestorId(requestorId, from, size);
     }
 
     @GetMapping("/all")
-    public Collection<ItemRequestDto> findAllOfAnotherRequestors(@RequestHeader(headerUserId) Long requestorId) {
-        return itemRequestService.findAllOfAnotherRequestors(requestorId);
+    public ResponseEntity<List<ItemRequestDto>> findAllOfAnotherRequestors(@RequestHeader(headerUserId) Long requestorId,
+                                                                           @RequestParam(name = "from", defaultValue = "0")
+                                                                           Integer from,
+                                                                           @RequestParam(name = "size", required = false)
+                                                                           Integer size,
+                                                                           @RequestParam(name = "after", required = false)
+                                                                           String after) {
+        List<ItemRequestDto> requests = itemRequestService.findAllOfAnotherRequestors(requestorId, from, size, after);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(FEED_MAX_AGE).cachePrivate());
+        Cursor.next(requests, size, ItemRequestDto::getCreated, ItemRequestDto::getId)
+                .ifPresent(cursor -> response.header(Cursor.NEXT_CURSOR_HEADER, cursor));
+        return response.body(requests);
     }
 
     @PutMapping
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.dto;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.dto.ItemAnswer;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.user.entity.User;
@@ -22,6 +23,10 @@ public final class ItemRequestMapper {
         return dto;
     }
 
+    public static ResponseDto mapToResponseDto(ItemAnswer answer) {
+        return new ResponseDto(answer.id(), answer.name(), answer.ownerId());
+    }
+
     public static ItemRequestDto mapToItemRequestDto(ItemRequest itemRequest) {
         ItemRequestDto dto = new ItemRequestDto();
         dto.setId(itemRequest.getId());
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.request.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Requests row as written by the data export.
+ */
+public record ItemRequestSnapshot(Long id, String description, Long requestorId, LocalDateTime created) {
+}
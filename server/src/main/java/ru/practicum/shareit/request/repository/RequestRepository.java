@@ -1,13 +1,41 @@
 package ru.practicum.shareit.request.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.export.DataExportService;
+import ru.practicum.shareit.request.dto.ItemRequestSnapshot;
 import ru.practicum.shareit.request.entity.ItemRequest;
 
-import java.util.Collection;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findByRequestorId(Long requestorId);
+    List<ItemRequest> findByRequestorIdOrderByCreatedDescIdDesc(Long requestorId, Pageable pageable);
 
-    Collection<ItemRequest> findByRequestorIdNotOrderByCreatedDesc(Long requestorId);
-}
\ No newline at end of file
+    /**
+     * Newest first, strictly before the keyset position ({@code beforeCreated}, {@code beforeId}).
+     * Walks the (created, id) index backwards; the requestor is only read by id, never loaded.
+     */
+    @Query("select r " +
+            "from ItemRequest as r " +
+            "where r.requestor.id <> :requestorId " +
+            "and (r.created < :beforeCreated or (r.created = :beforeCreated and r.id < :beforeId)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findAllOfOtherRequestors(@Param("requestorId") Long requestorId,
+                                               @Param("beforeCreated") LocalDateTime beforeCreated,
+                                               @Param("beforeId") Long beforeId,
+                                               Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = DataExportService.FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.request.dto.ItemRequestSnapshot(r.id, r.description, r.requestor.id, " +
+            "r.created) " +
+            "from ItemRequest as r " +
+            "order by r.id")
+    Stream<ItemRequestSnapshot> streamSnapshots();
+}
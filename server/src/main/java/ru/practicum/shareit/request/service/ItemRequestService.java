@@ -1,44 +1,54 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
-import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.dto.ItemAnswer;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Pages;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewRequest;
+import ru.practicum.shareit.request.dto.ResponseDto;
 import ru.practicum.shareit.request.dto.UpdateRequest;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserReferences;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
 
 @Service
+@Timed("shareit.service")
 @FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
 public class ItemRequestService {
     RequestRepository requestRepository;
     UserRepository userRepository;
     ItemRepository itemRepository;
+    UserReferences userReferences;
 
     @Autowired
     public ItemRequestService(RequestRepository requestRepository,
                               UserRepository userRepository,
-                              ItemRepository itemRepository) {
+                              ItemRepository itemRepository,
+                              UserReferences userReferences) {
         this.requestRepository = requestRepository;
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
+        this.userReferences = userReferences;
     }
 
     private ItemRequest findById(Long itemRequestId) {
@@ -47,7 +57,7 @@ public class ItemRequestService {
     }
 
     private User findUserById(Long userId) {
-        return userRepository.findById(userId)
+        return userRepository.findCachedById(userId)
                 .orElseThrow(() -> new NotFoundException(User.class, userId));
     }
 
@@ -57,17 +67,16 @@ public class ItemRequestService {
                 .map(ItemRequest::getId)
                 .toList();
 
-        Map<Long, List<Item>> requestItems = itemRepository
-                .findByRequestIdIn(requestIds)
+        Map<Long, List<ResponseDto>> requestItems = itemRepository
+                .findAnswersByRequestIdIn(requestIds)
                 .stream()
-                .collect(groupingBy(Item::getRequestId, toList()));
+                .collect(groupingBy(ItemAnswer::requestId, mapping(ItemRequestMapper::mapToResponseDto, toList())));
 
         List<ItemRequestDto> requestsList = new ArrayList<>();
         for (ItemRequest request : requests) {
-
-            requestsList.add(ItemRequestMapper.mapToItemRequestDto(request,
-                    requestItems.getOrDefault(request.getId(), Collections.emptyList()))
-            );
+            ItemRequestDto dto = ItemRequestMapper.mapToItemRequestDto(request);
+            dto.setItems(requestItems.getOrDefault(request.getId(), Collections.emptyList()));
+            requestsList.add(dto);
         }
 
         return requestsList;
@@ -75,7 +84,7 @@ public class ItemRequestService {
 
     @Transactional
     public ItemRequestDto create(Long userId, NewRequest request) {
-        User findUser = findUserById(userId);
+        User findUser = userReferences.getReference(userId);
 
         ItemRequest itemRequest = ItemRequestMapper.mapToItemRequest(request, findUser, LocalDateTime.now());
         itemRequest = requestRepository.save(itemRequest);
@@ -87,29 +96,33 @@ public class ItemRequestService {
     public ItemRequestDto findItemRequest(Long itemRequestId) {
         ItemRequest itemRequest = findById(itemRequestId);
 
-        Collection<Item> items = itemRepository.findByRequestId(itemRequestId);
-
-        return ItemRequestMapper.mapToItemRequestDto(itemRequest, items);
+        return fillRequestsData(List.of(itemRequest)).getFirst();
     }
 
     @Transactional(readOnly = true)
-    public Collection<ItemRequestDto> findAllByRequestorId(Long requestorId) {
-        User findUser = findUserById(requestorId);
+    public List<ItemRequestDto> findAllByRequestorId(Long requestorId, Integer from, Integer size) {
+        userReferences.requireExists(requestorId);
+        Pageable page = Pages.of(from, size);
 
-        List<ItemRequest> requests = requestRepository.findByRequestorId(requestorId);
+        List<ItemRequest> requests = requestRepository.findByRequestorIdOrderByCreatedDescIdDesc(requestorId, page);
 
-        return fillRequestsData(requests)
-                .stream()
-                .sorted(Comparator.comparing(ItemRequestDto::getCreated).reversed())
-                .collect(Collectors.toList());
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return fillRequestsData(requests);
     }
 
     @Transactional(readOnly = true)
-    public Collection<ItemRequestDto> findAllOfAnotherRequestors(Long requestorId) {
-        return requestRepository.findByRequestorIdNotOrderByCreatedDesc(requestorId)
-                .stream()
-                .map(ItemRequestMapper::mapToItemRequestDto)
-                .collect(Collectors.toList());
+    public List<ItemRequestDto> findAllOfAnotherRequestors(Long requestorId, Integer from, Integer size,
+                                                           String after) {
+        Cursor cursor = Cursor.decode(after, Cursor.LAST);
+        List<ItemRequest> requests = requestRepository.findAllOfOtherRequestors(requestorId,
+                cursor.timestamp(), cursor.id(), Pages.of(from, size));
+
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return fillRequestsData(requests);
     }
 
     @Transactional
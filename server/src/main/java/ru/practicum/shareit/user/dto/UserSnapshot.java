@@ -0,0 +1,7 @@
+package ru.practicum.shareit.user.dto;
+
+/**
+ * Users row as written by the data export.
+ */
+public record UserSnapshot(Long id, String name, String email) {
+}
@@ -1,12 +1,39 @@
 package ru.practicum.shareit.user.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.export.DataExportService;
+import ru.practicum.shareit.user.dto.UserSnapshot;
 import ru.practicum.shareit.user.entity.User;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("select u.version from User as u where u.id = :userId")
+    Optional<Long> findVersionById(@Param("userId") Long userId);
+
+    /**
+     * Read-only lookup for other services; the returned user is shared and must not be modified.
+     */
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "#result == null")
+    default Optional<User> findCachedById(Long userId) {
+        return findById(userId);
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = DataExportService.FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.user.dto.UserSnapshot(u.id, u.name, u.email) " +
+            "from User as u " +
+            "order by u.id")
+    Stream<UserSnapshot> streamSnapshots();
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+/**
+ * Existence checks and foreign key references to users that do not load the user row.
+ * Both positive and negative answers are cached in {@link CacheConfig#USER_EXISTS}; a positive answer is
+ * only stored once the surrounding transaction commits.
+ */
+@Component
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class UserReferences {
+    UserRepository repository;
+    Cache existence;
+
+    public UserReferences(UserRepository repository, CacheManager cacheManager) {
+        this.repository = repository;
+        this.existence = cacheManager.getCache(CacheConfig.USER_EXISTS);
+    }
+
+    public boolean exists(Long userId) {
+        Boolean cached = existence.get(userId, Boolean.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (repository.existsById(userId)) {
+            existence.put(userId, true);
+            return true;
+        }
+        // stored right away: the NotFoundException that usually follows rolls the transaction back
+        existence.putIfAbsent(userId, false);
+        return false;
+    }
+
+    public void requireExists(Long userId) {
+        if (!exists(userId)) {
+            throw new NotFoundException(User.class, userId);
+        }
+    }
+
+    /**
+     * Uninitialized proxy that is only good for its id, e.g. to set a foreign key.
+     */
+    public User getReference(Long userId) {
+        requireExists(userId);
+        return repository.getReferenceById(userId);
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.user.service;
 
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -11,6 +14,7 @@ import ru.practicum.shareit.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository repository;
@@ -20,6 +24,16 @@ public class UserService {
                 .orElseThrow(() -> new NotFoundException(User.class, id)));
     }
 
+    /**
+     * Entity tag of {@link #getUser(Long)}, read without loading the user.
+     */
+    public String getUserTag(Long id) {
+        return repository.findVersionById(id)
+                .map(version -> "user-" + id + "-" + version)
+                .orElseThrow(() -> new NotFoundException(User.class, id));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USER_EXISTS, key = "#result.id")
     public UserDto createUser(UserDto userDto) {
         if (repository.findByEmail(userDto.getEmail()).isPresent()) {
             throw new EmailAlreadyExistsException(userDto.getEmail());
@@ -27,6 +41,7 @@ public class UserService {
         return UserMapper.toDto(repository.save(UserMapper.toEntity(userDto)));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public UserDto updateUser(Long id, UserDto userDto) {
         if (!StringUtils.isBlank(userDto.getEmail()) && repository.findByEmail(userDto.getEmail()).isPresent()) {
             throw new EmailAlreadyExistsException(userDto.getEmail());
@@ -34,6 +49,7 @@ public class UserService {
         return UserMapper.toDto(repository.save(UserMapper.update(findById(id), userDto)));
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.USERS, CacheConfig.USER_EXISTS}, key = "#id")
     public void deleteUser(Long id) {
         repository.delete(findById(id));
     }
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+  item_id BIGINT NOT NULL,
+  last_booking TIMESTAMP WITHOUT TIME ZONE,
+  next_booking TIMESTAMP WITHOUT TIME ZONE,
+  refresh_at TIMESTAMP WITHOUT TIME ZONE,
+  CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+  CONSTRAINT fk_item_booking_summary FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_summary_refresh ON item_booking_summary (refresh_at);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_requests_created_id ON requests (created DESC, id DESC);
@@ -0,0 +1,4 @@
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
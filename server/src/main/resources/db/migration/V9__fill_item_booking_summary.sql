@@ -0,0 +1,15 @@
+-- summaries of items booked before V4 created the table, computed once here rather than by every instance on startup;
+-- booking dates are stored as UTC
+INSERT INTO item_booking_summary (item_id, last_booking, next_booking, refresh_at)
+SELECT t.item_id, t.last_end, t.next_start,
+       LEAST(COALESCE(t.next_start, t.next_end), COALESCE(t.next_end, t.next_start))
+FROM (
+  SELECT i.id AS item_id,
+         (SELECT MAX(b.end_date) FROM bookings AS b WHERE b.item_id = i.id AND b.end_date < c.utc_now) AS last_end,
+         (SELECT MIN(b.start_date) FROM bookings AS b WHERE b.item_id = i.id AND b.start_date > c.utc_now) AS next_start,
+         (SELECT MIN(b.end_date) FROM bookings AS b WHERE b.item_id = i.id AND b.end_date > c.utc_now) AS next_end
+  FROM items AS i
+  CROSS JOIN (SELECT CAST(CURRENT_TIMESTAMP AT TIME ZONE 'UTC' AS TIMESTAMP) AS utc_now) AS c
+  WHERE EXISTS (SELECT b.id FROM bookings AS b WHERE b.item_id = i.id)
+    AND NOT EXISTS (SELECT s.item_id FROM item_booking_summary AS s WHERE s.item_id = i.id)
+) AS t;
@@ -0,0 +1,6 @@
+-- ids are handed out in blocks of ${id-allocation-size}, Hibernate takes the block size from the sequences
+ALTER SEQUENCE users_seq INCREMENT BY ${id-allocation-size};
+ALTER SEQUENCE items_seq INCREMENT BY ${id-allocation-size};
+ALTER SEQUENCE comments_seq INCREMENT BY ${id-allocation-size};
+ALTER SEQUENCE requests_seq INCREMENT BY ${id-allocation-size};
+ALTER SEQUENCE bookings_seq INCREMENT BY ${id-allocation-size};
@@ -0,0 +1,89 @@
+package ru.practicum.shareit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Bulk insert harness on PostgreSQL. Starts an embedded PostgreSQL, runs the server against it and inserts users,
+ * then items of those users, through their repositories in transactions of a fixed number of rows. Run from
+ * {@code server} after {@code mvn test-compile} with
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=ru.practicum.shareit.BulkInsertBenchmark -Dexec.classpathScope=test \
+ *     -Dexec.args="20000 500"
+ * </pre>
+ * where the arguments are the number of rows per table and the rows per transaction. PostgreSQL does not run as
+ * root, so neither can this.
+ */
+public class BulkInsertBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int rowsPerTransaction = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext server = new SpringApplicationBuilder(ShareItServer.class)
+                     .web(WebApplicationType.NONE)
+                     // the test application.properties hides the main one on this classpath
+                     .run("--spring.profiles.active=test",
+                             "--spring.datasource.driverClassName=org.postgresql.Driver",
+                             "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                             "--spring.datasource.username=postgres",
+                             "--spring.datasource.password=postgres",
+                             "--spring.flyway.placeholders.id-allocation-size=50",
+                             "--logging.level.org.springframework.transaction.interceptor=INFO",
+                             "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO")) {
+            TransactionTemplate transactionTemplate = server.getBean(TransactionTemplate.class);
+            UserRepository userRepository = server.getBean(UserRepository.class);
+            ItemRepository itemRepository = server.getBean(ItemRepository.class);
+
+            // the first round warms up the JIT and the connection pool
+            for (int round = 0; round <= ROUNDS; round++) {
+                String prefix = "round" + round + "-";
+                List<Long> ownerIds = new ArrayList<>(rows);
+                long users = insert(transactionTemplate, rows, rowsPerTransaction,
+                        i -> userRepository.save(new User(null, prefix + i, prefix + i + "@email")).getId(),
+                        ownerIds);
+                long items = insert(transactionTemplate, rows, rowsPerTransaction,
+                        i -> itemRepository.save(new Item(null, prefix + i, "description " + i, true,
+                                userRepository.getReferenceById(ownerIds.get(i)), null)).getId(),
+                        new ArrayList<>(rows));
+
+                if (round > 0) {
+                    System.out.printf("round %d: users %.0f rows/s, items %.0f rows/s%n", round,
+                            rows * 1e9 / users, rows * 1e9 / items);
+                }
+            }
+        }
+    }
+
+    /**
+     * Inserts {@code rows} rows, {@code rowsPerTransaction} to a transaction, collecting their ids. Returns the
+     * elapsed nanoseconds.
+     */
+    private static long insert(TransactionTemplate transactionTemplate, int rows, int rowsPerTransaction,
+                               IntFunction<Long> insertRow, List<Long> ids) {
+        long started = System.nanoTime();
+        for (int from = 0; from < rows; from += rowsPerTransaction) {
+            int to = Math.min(from + rowsPerTransaction, rows);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = first; i < to; i++) {
+                    ids.add(insertRow.apply(i));
+                }
+            });
+        }
+        return System.nanoTime() - started;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestExecutionListener;
+
+/**
+ * Test data is inserted with native SQL behind the services' back, so nothing cached by one test may leak into the next.
+ */
+public class ClearCachesTestExecutionListener implements TestExecutionListener {
+    @Override
+    public void afterTestMethod(TestContext testContext) {
+        if (!testContext.hasApplicationContext()) {
+            return;
+        }
+
+        testContext.getApplicationContext().getBeanProvider(CacheManager.class).ifAvailable(cacheManager ->
+                cacheManager.getCacheNames().stream()
+                        .map(cacheManager::getCache)
+                        .forEach(Cache::invalidate));
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Not transactional: cache puts and evictions only happen once a transaction commits.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class LookupCacheIntegrationTest {
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private UserDto user;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.createUser(new UserDto(null, "Cached User", "cached@email"));
+        clearCaches();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.deleteUser(user.getId());
+        clearCaches();
+    }
+
+    @Test
+    void userLookupIsCachedUntilUserIsUpdated() {
+        double hits = meterRegistry.get("cache.gets").tag("cache", CacheConfig.USERS).tag("result", "hit")
+                .functionCounter().count();
+
+        userRepository.findCachedById(user.getId());
+        userRepository.findCachedById(user.getId());
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.USERS).tag("result", "hit")
+                .functionCounter().count(), equalTo(hits + 1));
+        assertThat(nativeCache(CacheConfig.USERS).getIfPresent(user.getId()), notNullValue());
+
+        userService.updateUser(user.getId(), new UserDto(null, "Renamed User", null));
+
+        assertThat(nativeCache(CacheConfig.USERS).getIfPresent(user.getId()), nullValue());
+        assertThat(userRepository.findCachedById(user.getId()).orElseThrow().getName(), equalTo("Renamed User"));
+    }
+
+    @Test
+    void missingAndRolledBackLookupsAreNotCached() {
+        userRepository.findCachedById(Long.MAX_VALUE);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.findCachedById(user.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(nativeCache(CacheConfig.USERS).estimatedSize(), equalTo(0L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativeCache(String name) {
+        return (Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+    }
+
+    private void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> nativeCache(name).invalidateAll());
+    }
+}
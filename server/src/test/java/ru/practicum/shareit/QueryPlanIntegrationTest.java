@@ -0,0 +1,199 @@
+package ru.practicum.shareit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.enums.Statuses;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryRepository;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.request.repository.RequestRepository;
+
+import java.io.IOException;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Plans of the repository queries on an embedded PostgreSQL migrated like production, trigram search indexes
+ * included, rather than on the H2 the other tests use. PostgreSQL does not run as root, so neither does this test.
+ */
+@Transactional
+@DirtiesContext
+@DisabledIfSystemProperty(named = "user.name", matches = "root", disabledReason = "PostgreSQL does not run as root")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class QueryPlanIntegrationTest {
+    private static final int USERS = 20;
+    private static final int ITEMS_PER_USER = 10;
+    private static final int BOOKINGS_PER_ITEM = 5;
+
+    private static EmbeddedPostgres postgres;
+
+    private final EntityManager em;
+    private final TestRows rows;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final ItemBookingSummaryRepository summaryRepository;
+
+    @SpyBean
+    private SqlStatementCounter statementInspector;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) throws IOException {
+        if (postgres == null) {
+            postgres = EmbeddedPostgres.start();
+        }
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        // the trigram indexes and functions come with the vendor migrations
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration,classpath:db/vendor/{vendor}");
+    }
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        long itemId = 0;
+        long bookingId = 0;
+
+        for (long userId = 1; userId <= USERS; userId++) {
+            rows.insertUser(userId, "user" + userId, "user" + userId + "@email");
+            rows.insertRequest(userId, "request" + userId, userId, now.minusDays(userId));
+        }
+
+        for (long ownerId = 1; ownerId <= USERS; ownerId++) {
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                itemId++;
+                rows.insertItem(itemId, "item" + itemId, "description" + itemId, true, ownerId,
+                        itemId % USERS + 1);
+                rows.insertComment(itemId, "comment" + itemId, itemId, ownerId % USERS + 1, now);
+
+                for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                    bookingId++;
+                    rows.insertBooking(bookingId, now.plusDays(b - 2), now.plusDays(b - 1), itemId,
+                            b % 2 == 0 ? Statuses.APPROVED : Statuses.WAITING, (ownerId + b) % USERS + 1);
+                }
+            }
+        }
+    }
+
+    static Stream<Named<Consumer<QueryPlanIntegrationTest>>> repositoryQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable page = PageRequest.of(0, 10);
+        List<Long> ids = List.of(1L, 2L, 3L);
+        return Stream.of(
+                Named.of("bookings of booker", test -> test.bookingRepository.findAllByBookerId(1L,
+                        Cursor.FIRST.timestamp(), Cursor.FIRST.id(), page)),
+                Named.of("bookings of booker by status", test -> test.bookingRepository.findAllByBookerIdAndStatus(
+                        1L, Statuses.WAITING, Cursor.FIRST.timestamp(), Cursor.FIRST.id(), page)),
+                Named.of("future bookings of booker", test -> test.bookingRepository.findAllFutureBookingByBookerId(
+                        1L, Cursor.FIRST.timestamp(), Cursor.FIRST.id(), page)),
+                Named.of("bookings of owner", test -> test.bookingRepository.findAllByOwnerId(1L,
+                        Cursor.FIRST.timestamp(), Cursor.FIRST.id(), page)),
+                Named.of("bookings of owner by status", test -> test.bookingRepository.findAllByOwnerIdAndStatus(
+                        1L, Statuses.WAITING, Cursor.FIRST.timestamp(), Cursor.FIRST.id(), page)),
+                Named.of("finished booking of item", test -> test.bookingRepository
+                        .existsByBookerIdAndItemIdAndEndBefore(1L, 1L, now)),
+                Named.of("overlapping bookings", test -> test.bookingRepository.findAllOverlapping(ids,
+                        List.of(Statuses.WAITING, Statuses.APPROVED), now, now.plusDays(1))),
+                Named.of("comments of items", test -> test.commentRepository.findByItemIn(ids)),
+                Named.of("items of owner", test -> test.itemRepository.findAllWithBookingDatesByUserId(1L, page)),
+                Named.of("item search", test -> test.itemRepository.searchAvailableItemIds("item", 0, 10)),
+                Named.of("answers to requests", test -> test.itemRepository.findAnswersByRequestIdIn(ids)),
+                Named.of("own requests", test -> test.requestRepository
+                        .findByRequestorIdOrderByCreatedDescIdDesc(1L, page)),
+                Named.of("requests of others", test -> test.requestRepository.findAllOfOtherRequestors(1L,
+                        Cursor.LAST.timestamp(), Cursor.LAST.id(), page)),
+                Named.of("due booking summaries", test -> test.summaryRepository.findDueItemIds(now, page))
+        );
+    }
+
+    /**
+     * Explains the statements Hibernate actually sent for the repository call, whatever JPQL or method name
+     * they came from.
+     */
+    @ParameterizedTest
+    @MethodSource("repositoryQueries")
+    void repositoryQueryDoesNotScanWholeTable(Consumer<QueryPlanIntegrationTest> query) {
+        clearInvocations(statementInspector);
+        query.accept(this);
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(statementInspector, atLeastOnce()).inspect(statements.capture());
+        for (String sql : statements.getAllValues()) {
+            assertThat(sql, explain(sql), not(containsString("Seq Scan")));
+        }
+    }
+
+    /**
+     * Tables this small are cheaper to scan whole, so sequential scans are priced out for the transaction: one
+     * still left in the plan means no index fits the statement. Placeholders of the right type stand in for the
+     * parameters.
+     */
+    private String explain(String sql) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement noSeqScan = connection.prepareStatement("SET LOCAL enable_seqscan = off")) {
+                noSeqScan.execute();
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    statement.setObject(i, placeholder(parameters.getParameterType(i)));
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private static Object placeholder(int sqlType) {
+        return switch (sqlType) {
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> LocalDateTime.now();
+            case Types.VARCHAR, Types.CHAR -> Statuses.WAITING.name();
+            case Types.BOOLEAN -> Boolean.TRUE;
+            default -> 1L;
+        };
+    }
+}
@@ -0,0 +1,246 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.enums.Statuses;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.comment.dto.NewCommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.NewRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Statements issued per service call once lookups are warm. Not transactional: the lookup caches are only
+ * filled when a service transaction commits.
+ */
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ServiceQueryCountIntegrationTest {
+    private static final long OWNER_ID = 901L;
+    private static final long BOOKER_ID = 902L;
+    private static final long ITEM_ID = 901L;
+    private static final long UNKNOWN_ID = 999_999L;
+
+    private final EntityManager em;
+    private final TestRows rows;
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate transactionTemplate;
+    private final ItemSearchEngine searchEngine;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService itemRequestService;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            rows.insertUser(OWNER_ID, "owner", "owner@email");
+            rows.insertUser(BOOKER_ID, "booker", "booker@email");
+            rows.insertItem(ITEM_ID, "drill", "cordless drill", true, OWNER_ID);
+            rows.insertBooking(ITEM_ID, now.minusDays(2), now.minusDays(1), ITEM_ID, Statuses.APPROVED, BOOKER_ID);
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<?> itemIds = em.createNativeQuery("SELECT id FROM items WHERE owner_id IN (?1, ?2)")
+                    .setParameter(1, OWNER_ID)
+                    .setParameter(2, BOOKER_ID)
+                    .getResultList();
+            itemIds.forEach(id -> searchEngine.remove(((Number) id).longValue()));
+
+            rows.execute("DELETE FROM comments WHERE author_id IN (?1, ?2)", OWNER_ID, BOOKER_ID);
+            rows.execute("DELETE FROM bookings WHERE booker_id IN (?1, ?2)", OWNER_ID, BOOKER_ID);
+            rows.execute("DELETE FROM items WHERE owner_id IN (?1, ?2)", OWNER_ID, BOOKER_ID);
+            rows.execute("DELETE FROM requests WHERE requestor_id IN (?1, ?2)", OWNER_ID, BOOKER_ID);
+            rows.execute("DELETE FROM users WHERE id IN (?1, ?2)", OWNER_ID, BOOKER_ID);
+        });
+    }
+
+    @Test
+    void getUserLoadsOneRow() {
+        assertThat(countStatements(() -> userService.getUser(OWNER_ID)), equalTo(1L));
+    }
+
+    @Test
+    void bookingListingsCheckTheCallerWithoutLoadingIt() {
+        assertThat(countStatements(() -> bookingService.findAllBookingsByUser(OWNER_ID, "ALL", 0, 10, null)),
+                equalTo(2L));
+        assertThat(statistics().getEntityLoadCount(), equalTo(0L));
+
+        assertThat(countStatements(() -> bookingService.findAllBookingsByUser(OWNER_ID, "ALL", 0, 10, null)),
+                equalTo(1L));
+        assertThat(countStatements(() -> bookingService.findAllBookingsByOwnerItems(OWNER_ID, "ALL", 0, 10, null)),
+                equalTo(1L));
+    }
+
+    @Test
+    void approvalIsOneConditionalUpdatePlusTheResponseRead() {
+        transactionTemplate.executeWithoutResult(status ->
+                rows.execute("UPDATE bookings SET status = ?1 WHERE id = ?2", Statuses.WAITING.name(), ITEM_ID));
+
+        assertThat(countStatements(() -> bookingService.approveBooking(ITEM_ID, OWNER_ID, true)), equalTo(2L));
+    }
+
+    @Test
+    void unknownCallerIsRememberedAsMissing() {
+        assertThat(countStatements(() -> assertThrows(NotFoundException.class, () ->
+                bookingService.findAllBookingsByUser(UNKNOWN_ID, "ALL", 0, 10, null))), equalTo(1L));
+        assertThat(countStatements(() -> assertThrows(NotFoundException.class, () ->
+                bookingService.findAllBookingsByOwnerItems(UNKNOWN_ID, "ALL", 0, 10, null))), equalTo(0L));
+    }
+
+    @Test
+    void itemCreateOnlyInsertsOnceOwnerIsKnown() {
+        ItemDto item = ItemDto.builder().name("saw").description("hand saw").available(true).build();
+        // takes a block of item ids
+        itemService.create(BOOKER_ID, item);
+
+        assertThat(countStatements(() -> itemService.create(OWNER_ID, item)), equalTo(2L));
+        assertThat(statistics().getEntityLoadCount(), equalTo(0L));
+
+        assertThat(countStatements(() -> itemService.create(OWNER_ID, item)), equalTo(1L));
+    }
+
+    @Test
+    void bookingBatchCostsTheSameStatementsWhateverItsSize() {
+        bookingService.createAll(BOOKER_ID, bookings(1, 1));
+
+        long two = countStatements(() -> bookingService.createAll(BOOKER_ID, bookings(10, 2)));
+        long six = countStatements(() -> bookingService.createAll(BOOKER_ID, bookings(20, 6)));
+
+        // items locked, overlapping bookings, one batched insert, then the item's summary read and written
+        assertThat(two, equalTo(5L));
+        assertThat(six, equalTo(two));
+    }
+
+    @Test
+    void approvalBatchCostsTheSameStatementsWhateverItsSize() {
+        List<Long> ids = bookingService.createAll(BOOKER_ID, bookings(1, 8)).stream()
+                .map(result -> result.getBooking().getId())
+                .toList();
+
+        long two = countStatements(() -> bookingService.approveAll(OWNER_ID, ids.subList(0, 2), true));
+        long six = countStatements(() -> bookingService.approveAll(OWNER_ID, ids.subList(2, 8), true));
+
+        // bookings locked, bookings with details, one batched update
+        assertThat(two, equalTo(3L));
+        assertThat(six, equalTo(two));
+    }
+
+    @Test
+    void ownerDashboardIsItemsWithBookingDatesPlusComments() {
+        assertThat(countStatements(() -> itemService.findAll(OWNER_ID, 0, 10)), equalTo(2L));
+    }
+
+    @Test
+    void itemDetailIsItemWithBookingDatesPlusCommentsWithAuthors() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long commentId = 1; commentId <= 3; commentId++) {
+                rows.execute("INSERT INTO comments (text, item_id, author_id, created) VALUES (?1, ?2, ?3, ?4)",
+                        "comment" + commentId, ITEM_ID, commentId % 2 == 0 ? OWNER_ID : BOOKER_ID,
+                        LocalDateTime.now());
+            }
+        });
+
+        assertThat(countStatements(() -> itemService.findItem(OWNER_ID, ITEM_ID)), equalTo(2L));
+        assertThat(countStatements(() -> itemService.findAll(OWNER_ID, 0, 10)), equalTo(2L));
+    }
+
+    @Test
+    void addCommentReusesTheCachedAuthor() {
+        NewCommentDto comment = new NewCommentDto();
+        comment.setText("works fine");
+
+        itemService.addComment(ITEM_ID, BOOKER_ID, comment);
+
+        // item row, past booking check and the insert itself
+        assertThat(countStatements(() -> itemService.addComment(ITEM_ID, BOOKER_ID, comment)), equalTo(3L));
+    }
+
+    @Test
+    void itemRequestCreateOnlyInsertsOnceRequestorIsKnown() {
+        NewRequest request = new NewRequest("need a ladder", null);
+        // takes a block of request ids
+        itemRequestService.create(OWNER_ID, request);
+
+        assertThat(countStatements(() -> itemRequestService.create(BOOKER_ID, request)), equalTo(2L));
+        assertThat(countStatements(() -> itemRequestService.create(BOOKER_ID, request)), equalTo(1L));
+    }
+
+    @Test
+    void otherRequestsFeedIsOnePageOfRequestsPlusTheirItems() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long requestId = 1; requestId <= 3; requestId++) {
+                rows.execute("INSERT INTO requests (description, requestor_id, created) VALUES (?1, ?2, ?3)",
+                        "request" + requestId, BOOKER_ID, LocalDateTime.now());
+            }
+        });
+
+        assertThat(countStatements(() -> itemRequestService.findAllOfAnotherRequestors(OWNER_ID, 0, 10, null)),
+                equalTo(2L));
+        assertThat(statistics().getEntityLoadCount(), equalTo(3L));
+    }
+
+    @Test
+    void ownRequestsAreOneOrderedPageOfRequestsPlusTheirItems() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long requestId = 1; requestId <= 3; requestId++) {
+                rows.execute("INSERT INTO requests (description, requestor_id, created) VALUES (?1, ?2, ?3)",
+                        "request" + requestId, OWNER_ID, LocalDateTime.now().minusDays(requestId));
+            }
+            rows.execute("INSERT INTO items (name, description, available, owner_id, request_id) " +
+                            "SELECT 'answer', 'answer', true, ?1, id FROM requests WHERE requestor_id = ?1",
+                    OWNER_ID);
+        });
+        itemRequestService.findAllByRequestorId(OWNER_ID, 0, null);
+
+        assertThat(countStatements(() -> itemRequestService.findAllByRequestorId(OWNER_ID, 0, null)), equalTo(2L));
+        // the requests themselves, neither items nor their owners are loaded as entities
+        assertThat(statistics().getEntityLoadCount(), equalTo(3L));
+    }
+
+    private List<NewBookingDto> bookings(int fromDay, int count) {
+        LocalDateTime start = LocalDateTime.now().plusDays(fromDay);
+        return LongStream.range(0, count)
+                .mapToObj(day -> new NewBookingDto(start.plusDays(day), start.plusDays(day).plusHours(1), ITEM_ID,
+                        BOOKER_ID))
+                .toList();
+    }
+
+    private long countStatements(Runnable call) {
+        statistics().clear();
+        call.run();
+        return statistics().getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return emf.unwrap(SessionFactory.class).getStatistics();
+    }
+}
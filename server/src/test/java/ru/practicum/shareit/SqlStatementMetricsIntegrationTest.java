@@ -0,0 +1,59 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.metrics.SqlStatementCountFilter;
+import ru.practicum.shareit.metrics.SqlStatementHeaderAdvice;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "shareit.metrics.sql-statements-header=true")
+class SqlStatementMetricsIntegrationTest {
+    private static final long USER_ID = 801L;
+
+    private final EntityManager em;
+    private final MockMvc mvc;
+    private final MeterRegistry registry;
+
+    @Test
+    void requestReportsItsStatementsAndFeedsTimers() throws Exception {
+        em.createNativeQuery("INSERT INTO users (id, name, email) VALUES (?1, ?2, ?3)")
+                .setParameter(1, USER_ID)
+                .setParameter(2, "user")
+                .setParameter(3, "user@email")
+                .executeUpdate();
+
+        mvc.perform(get("/users/{id}", USER_ID))
+                .andExpect(status().isOk())
+                // the version behind the entity tag, then the user itself
+                .andExpect(header().string(SqlStatementHeaderAdvice.HEADER, "2"));
+
+        assertThat(registry.get(SqlStatementCountFilter.METRIC)
+                .tags("method", "GET", "uri", "/users/{id}")
+                .summary()
+                .max(), equalTo(2.0));
+        assertThat(registry.get("shareit.service")
+                .tags("class", UserService.class.getName(), "method", "getUser")
+                .timer()
+                .count(), equalTo(1L));
+        assertThat(registry.get("spring.data.repository.invocations")
+                .tags("repository", "UserRepository", "method", "findById")
+                .timer()
+                .count(), equalTo(1L));
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.enums.Statuses;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rows written straight to the tables in the caller's transaction, past the services, their caches and the search
+ * index, for tests that need data in place before the code under test runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestRows {
+    private final EntityManager em;
+
+    public void insertUser(long id, String name, String email) {
+        execute("INSERT INTO users (id, name, email) VALUES (?1, ?2, ?3)", id, name, email);
+    }
+
+    public void insertItem(long id, String name, String description, boolean available, long ownerId) {
+        execute("INSERT INTO items (id, name, description, available, owner_id) VALUES (?1, ?2, ?3, ?4, ?5)",
+                id, name, description, available, ownerId);
+    }
+
+    public void insertItem(long id, String name, String description, boolean available, long ownerId,
+                           long requestId) {
+        execute("INSERT INTO items (id, name, description, available, owner_id, request_id) " +
+                        "VALUES (?1, ?2, ?3, ?4, ?5, ?6)",
+                id, name, description, available, ownerId, requestId);
+    }
+
+    public void insertBooking(long id, LocalDateTime start, LocalDateTime end, long itemId, Statuses status,
+                              long bookerId) {
+        execute("INSERT INTO bookings (id, start_date, end_date, item_id, status, booker_id) " +
+                        "VALUES (?1, ?2, ?3, ?4, ?5, ?6)",
+                id, start, end, itemId, status.name(), bookerId);
+    }
+
+    /**
+     * The id comes from the bookings sequence.
+     */
+    public void insertBooking(LocalDateTime start, LocalDateTime end, long itemId, Statuses status, long bookerId) {
+        execute("INSERT INTO bookings (start_date, end_date, item_id, status, booker_id) VALUES (?1, ?2, ?3, ?4, ?5)",
+                start, end, itemId, status.name(), bookerId);
+    }
+
+    public void insertRequest(long id, String description, long requestorId, LocalDateTime created) {
+        execute("INSERT INTO requests (id, description, requestor_id, created) VALUES (?1, ?2, ?3, ?4)",
+                id, description, requestorId, created);
+    }
+
+    public void insertComment(long id, String text, long itemId, long authorId, LocalDateTime created) {
+        execute("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?1, ?2, ?3, ?4, ?5)",
+                id, text, itemId, authorId, created);
+    }
+
+    /**
+     * Any other native statement, parameters numbered from {@code ?1}.
+     */
+    public void execute(String sql, Object... parameters) {
+        Query query = em.createNativeQuery(sql);
+        for (int i = 0; i < parameters.length; i++) {
+            query.setParameter(i + 1, parameters[i]);
+        }
+        query.executeUpdate();
+    }
+}
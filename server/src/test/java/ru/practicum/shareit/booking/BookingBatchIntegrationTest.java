@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.TestRows;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.enums.Statuses;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingBatchIntegrationTest {
+    private static final long OWNER_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+    private static final long ITEM_ID = 1L;
+    private static final long OTHER_ITEM_ID = 2L;
+    private static final long UNAVAILABLE_ITEM_ID = 3L;
+    private static final long UNKNOWN_ID = 999L;
+
+    private final EntityManager em;
+    private final TestRows rows;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    @BeforeEach
+    void seed() {
+        rows.insertUser(OWNER_ID, "owner", "owner@email");
+        rows.insertUser(BOOKER_ID, "booker", "booker@email");
+        rows.insertItem(ITEM_ID, "drill", "cordless drill", true, OWNER_ID);
+        rows.insertItem(OTHER_ITEM_ID, "saw", "hand saw", true, OWNER_ID);
+        rows.insertItem(UNAVAILABLE_ITEM_ID, "ladder", "broken ladder", false, OWNER_ID);
+        rows.insertBooking(now.plusDays(10), now.plusDays(12), OTHER_ITEM_ID, Statuses.APPROVED, BOOKER_ID);
+    }
+
+    @Test
+    void createAllReportsEachEntryAndCreatesOnlyValidOnes() {
+        List<BookingBatchResultDto> results = bookingService.createAll(BOOKER_ID, List.of(
+                booking(ITEM_ID, 1, 2),
+                booking(ITEM_ID, 3, 4),
+                booking(UNKNOWN_ID, 1, 2),
+                booking(UNAVAILABLE_ITEM_ID, 1, 2),
+                booking(OTHER_ITEM_ID, 11, 13),
+                booking(ITEM_ID, 2, 1),
+                // overlaps the first entry of this batch
+                booking(ITEM_ID, 1, 3)));
+
+        assertThat(results.stream().map(BookingBatchResultDto::getIndex).toList(), contains(0, 1, 2, 3, 4, 5, 6));
+        assertThat(results.stream().map(BookingBatchResultDto::getStatus).toList(),
+                contains(201, 201, 404, 400, 409, 400, 409));
+        assertThat(results.getFirst().getBooking().getId(), notNullValue());
+        assertThat(results.getFirst().getBooking().getStatus(), equalTo(Statuses.WAITING));
+        assertThat(results.getFirst().getError(), nullValue());
+        assertThat(results.get(2).getBooking(), nullValue());
+        assertThat(results.get(2).getError(), equalTo("Item with id " + UNKNOWN_ID + " not found"));
+
+        assertThat(bookingService.findAllBookingsByUser(BOOKER_ID, "WAITING", 0, 10, null).size(), equalTo(2));
+        assertThat(itemService.findItem(OWNER_ID, ITEM_ID).getNextBooking(), equalTo(now.plusDays(1)));
+    }
+
+    @Test
+    void ownItemsCannotBeBookedInBatchEither() {
+        List<BookingBatchResultDto> results = bookingService.createAll(OWNER_ID, List.of(booking(ITEM_ID, 1, 2)));
+
+        assertThat(results.getFirst().getStatus(), equalTo(400));
+        assertThat(results.getFirst().getError(), equalTo("You can't book your own item"));
+    }
+
+    @Test
+    void approveAllChangesOnlyWaitingBookingsOfTheOwner() {
+        List<Long> ids = bookingService.createAll(BOOKER_ID, List.of(booking(ITEM_ID, 1, 2), booking(ITEM_ID, 3, 4)))
+                .stream()
+                .map(result -> result.getBooking().getId())
+                .toList();
+
+        assertThat(bookingService.approveAll(BOOKER_ID, ids, true).stream()
+                .map(BookingBatchResultDto::getStatus).toList(), contains(403, 403));
+
+        List<BookingBatchResultDto> results = bookingService.approveAll(OWNER_ID,
+                List.of(ids.getFirst(), UNKNOWN_ID, ids.getLast(), ids.getFirst()), true);
+
+        assertThat(results.stream().map(BookingBatchResultDto::getStatus).toList(), contains(200, 404, 200, 409));
+        assertThat(results.getFirst().getBooking().getStatus(), equalTo(Statuses.APPROVED));
+        em.flush();
+        em.clear();
+        assertThat(bookingService.findAllBookingsByUser(BOOKER_ID, "FUTURE", 0, 10, null).stream()
+                        .filter(booking -> ids.contains(booking.getId()))
+                        .map(booking -> booking.getStatus())
+                        .toList(),
+                contains(Statuses.APPROVED, Statuses.APPROVED));
+    }
+
+    private NewBookingDto booking(long itemId, int startDay, int endDay) {
+        return new NewBookingDto(now.plusDays(startDay), now.plusDays(endDay), itemId, BOOKER_ID);
+    }
+}
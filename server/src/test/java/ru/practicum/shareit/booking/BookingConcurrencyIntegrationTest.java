@@ -0,0 +1,195 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.TestRows;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.BookingStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Many threads booking or approving on one item at once. Not transactional: every call has to commit for the others
+ * to see it.
+ */
+@Slf4j
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BookingConcurrencyIntegrationTest {
+    private static final long OWNER_ID = 801L;
+    private static final long BOOKER_ID = 802L;
+    private static final long ITEM_ID = 801L;
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS = 64;
+
+    private final EntityManager em;
+    private final TestRows rows;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingService bookingService;
+
+    private final LocalDateTime base = LocalDateTime.now().plusDays(30).withNano(0);
+
+    @BeforeEach
+    void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            rows.insertUser(OWNER_ID, "owner", "owner@email");
+            rows.insertUser(BOOKER_ID, "booker", "booker@email");
+            rows.insertItem(ITEM_ID, "drill", "cordless drill", true, OWNER_ID);
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            rows.execute("DELETE FROM bookings WHERE item_id = ?1", ITEM_ID);
+            rows.execute("DELETE FROM items WHERE id = ?1", ITEM_ID);
+            rows.execute("DELETE FROM users WHERE id IN (?1, ?2)", OWNER_ID, BOOKER_ID);
+        });
+    }
+
+    @Test
+    void sameSlotIsBookedExactlyOnce() throws InterruptedException {
+        Result result = hammer(attempt -> new NewBookingDto(base, base.plusDays(1), ITEM_ID, BOOKER_ID));
+
+        assertThat(result.failures(), empty());
+        assertThat(result.succeeded(), equalTo(1));
+        assertThat(result.conflicts(), equalTo(ATTEMPTS - 1));
+        assertThat(countBookings(), equalTo(1L));
+    }
+
+    @Test
+    void overlappingSlotsNeverBothSucceed() throws InterruptedException {
+        // every slot is two hours long and starts one hour after the previous one
+        Result result = hammer(attempt -> new NewBookingDto(base.plusHours(attempt),
+                base.plusHours(attempt + 2), ITEM_ID, BOOKER_ID));
+
+        List<?> overlaps = em.createNativeQuery("SELECT a.id FROM bookings a JOIN bookings b " +
+                        "ON a.item_id = b.item_id AND a.id < b.id " +
+                        "AND a.start_date < b.end_date AND b.start_date < a.end_date " +
+                        "WHERE a.item_id = ?1")
+                .setParameter(1, ITEM_ID)
+                .getResultList();
+
+        assertThat(result.failures(), empty());
+        assertThat(result.succeeded() + result.conflicts(), equalTo(ATTEMPTS));
+        assertThat(overlaps, empty());
+    }
+
+    @Test
+    void disjointSlotsAreAllBooked() throws InterruptedException {
+        Result result = hammer(attempt -> new NewBookingDto(base.plusDays(attempt),
+                base.plusDays(attempt).plusHours(1), ITEM_ID, BOOKER_ID));
+
+        assertThat(result.failures(), empty());
+        assertThat(result.succeeded(), equalTo(ATTEMPTS));
+        assertThat(countBookings(), equalTo((long) ATTEMPTS));
+    }
+
+    @Test
+    void concurrentApprovalsHaveOneWinner() throws InterruptedException {
+        Long bookingId = bookingService.create(BOOKER_ID,
+                new NewBookingDto(base, base.plusDays(1), ITEM_ID, BOOKER_ID)).getId();
+        Queue<BookingDto> decided = new ConcurrentLinkedQueue<>();
+
+        Result result = run(attempt -> {
+            try {
+                decided.add(bookingService.approveBooking(bookingId, OWNER_ID, attempt % 2 == 0));
+                return true;
+            } catch (BookingStatusException e) {
+                return false;
+            }
+        });
+
+        String status = (String) em.createNativeQuery("SELECT status FROM bookings WHERE id = ?1")
+                .setParameter(1, bookingId)
+                .getSingleResult();
+
+        assertThat(result.failures(), empty());
+        assertThat(result.succeeded(), equalTo(1));
+        assertThat(result.conflicts(), equalTo(ATTEMPTS - 1));
+        assertThat(decided.peek().getStatus().name(), equalTo(status));
+    }
+
+    private Result hammer(IntFunction<NewBookingDto> request) throws InterruptedException {
+        return run(attempt -> {
+            try {
+                bookingService.create(BOOKER_ID, request.apply(attempt));
+                return true;
+            } catch (BookingOverlapException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Runs {@link #ATTEMPTS} calls from {@link #THREADS} threads at once; each call reports success or an expected
+     * conflict, anything thrown is a failure.
+     */
+    private Result run(IntPredicate call) throws InterruptedException {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            int attempt = i;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    if (call.test(attempt)) {
+                        succeeded.incrementAndGet();
+                    } else {
+                        conflicts.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES), equalTo(true));
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+        log.info("{} calls on one item from {} threads in {} ms ({} per second): {} succeeded, {} conflicts",
+                ATTEMPTS, THREADS, elapsedMillis, ATTEMPTS * 1000 / elapsedMillis, succeeded.get(), conflicts.get());
+        return new Result(succeeded.get(), conflicts.get(), List.copyOf(failures));
+    }
+
+    private long countBookings() {
+        return ((Number) em.createNativeQuery("SELECT count(*) FROM bookings WHERE item_id = ?1")
+                .setParameter(1, ITEM_ID)
+                .getSingleResult()).longValue();
+    }
+
+    private record Result(int succeeded, int conflicts, List<Throwable> failures) {
+    }
+}
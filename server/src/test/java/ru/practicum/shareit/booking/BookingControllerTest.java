@@ -7,31 +7,47 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingApprovalBatchDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingBatchDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.enums.Statuses;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.NdjsonPages;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.entity.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -143,7 +159,7 @@ class BookingControllerTest {
 
         List<BookingDto> newRequests = List.of(requestDto1, requestDto2);
 
-        when(bookingService.findAllBookingsByUser(anyLong(), any())).thenReturn(newRequests);
+        when(bookingService.findAllBookingsByUser(anyLong(), any(), anyInt(), isNull(), any())).thenReturn(newRequests);
 
         mvc.perform(get(urlTemplate)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -160,6 +176,52 @@ class BookingControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(newRequests)));
     }
 
+    @Test
+    void streamAllBookingsByUserReadsPageAfterPageTest() throws Exception {
+        ItemDto itemDto = makeItemDto();
+        UserDto userDto = makeUserDto();
+        LocalDateTime start = LocalDateTime.of(2022, 7, 3, 19, 30, 1);
+        List<BookingDto> firstPage = LongStream.rangeClosed(1, NdjsonPages.PAGE_SIZE)
+                .mapToObj(id -> makeBookingDto(id, start.plusHours(id), start.plusHours(id + 1), Statuses.APPROVED,
+                        userDto, itemDto))
+                .toList();
+        BookingDto last = makeBookingDto(NdjsonPages.PAGE_SIZE + 1L, start.plusYears(1), start.plusYears(1).plusHours(1),
+                Statuses.WAITING, userDto, itemDto);
+        String afterFirstPage = new Cursor(firstPage.getLast().getStart(), firstPage.getLast().getId()).encode();
+
+        when(bookingService.findAllBookingsByUser(1L, "ALL", 0, NdjsonPages.PAGE_SIZE, null)).thenReturn(firstPage);
+        when(bookingService.findAllBookingsByUser(1L, "ALL", 0, NdjsonPages.PAGE_SIZE, afterFirstPage))
+                .thenReturn(List.of(last));
+
+        MvcResult result = mvc.perform(get(urlTemplate)
+                        .header(headerUserId, 1L)
+                        .accept(NdjsonPages.MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NdjsonPages.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(NdjsonPages.PAGE_SIZE + 1, lines.length);
+        assertEquals(mapper.writeValueAsString(firstPage.getFirst()), lines[0]);
+        assertEquals(mapper.writeValueAsString(last), lines[NdjsonPages.PAGE_SIZE]);
+    }
+
+    @Test
+    void streamForUnknownUserFailsBeforeStreamingTest() throws Exception {
+        when(bookingService.findAllBookingsByOwnerItems(999L, "ALL", 0, NdjsonPages.PAGE_SIZE, null))
+                .thenThrow(new NotFoundException(User.class, 999L));
+
+        mvc.perform(get(urlTemplate + "/owner")
+                        .header(headerUserId, 999L)
+                        .accept(NdjsonPages.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void findAllBookingsByOwnerItemsTest() throws Exception {
         ItemDto itemDto = makeItemDto();
@@ -171,7 +233,8 @@ class BookingControllerTest {
 
         List<BookingDto> newRequests = List.of(requestDto1, requestDto2);
 
-        when(bookingService.findAllBookingsByOwnerItems(anyLong(), anyString())).thenReturn(newRequests);
+        when(bookingService.findAllBookingsByOwnerItems(anyLong(), anyString(), anyInt(), isNull(), any()))
+                .thenReturn(newRequests);
 
         mvc.perform(get(urlTemplate + "/owner")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -187,6 +250,40 @@ class BookingControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(newRequests)));
     }
 
+    @Test
+    void findAllBookingsByOwnerItemsWithNextCursorTest() throws Exception {
+        ItemDto itemDto = makeItemDto();
+        UserDto userDto = makeUserDto();
+        BookingDto requestDto = makeBookingDto(3L, LocalDateTime.of(2022, 7, 3, 19, 30, 1),
+                LocalDateTime.of(2022, 7, 4, 19, 30, 1), Statuses.APPROVED, userDto, itemDto);
+
+        when(bookingService.findAllBookingsByOwnerItems(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(List.of(requestDto));
+
+        mvc.perform(get(urlTemplate + "/owner")
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header(headerUserId, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER,
+                        new Cursor(requestDto.getStart(), requestDto.getId()).encode()));
+
+        verify(bookingService, times(1)).findAllBookingsByOwnerItems(1L, "ALL", 0, 1, null);
+    }
+
+    @Test
+    void findAllBookingsWithInvalidPagingTest() throws Exception {
+        when(bookingService.findAllBookingsByUser(1L, "ALL", 0, 0, null))
+                .thenThrow(new ValidationException("size must be positive: 0"));
+
+        mvc.perform(get(urlTemplate)
+                        .param("size", "0")
+                        .header(headerUserId, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteTest() throws Exception {
         mvc.perform(delete(urlTemplate + "/" + anyLong()))
@@ -215,4 +312,39 @@ class BookingControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(requestDto)));
     }
 
+    @Test
+    void bookItemsReturnsResultPerEntryTest() throws Exception {
+        BookingDto booking = makeBookingDto(1L, LocalDateTime.of(2030, 7, 3, 19, 30, 1),
+                LocalDateTime.of(2030, 7, 4, 19, 30, 1), Statuses.WAITING, makeUserDto(), makeItemDto());
+        List<BookingBatchResultDto> results = List.of(
+                new BookingBatchResultDto(0, 201, booking, null),
+                new BookingBatchResultDto(1, 404, null, "Item with id 2 not found"));
+        NewBookingBatchDto batch = new NewBookingBatchDto(List.of(
+                new NewBookingDto(booking.getStart(), booking.getEnd(), 1L, 1L),
+                new NewBookingDto(booking.getStart(), booking.getEnd(), 2L, 1L)));
+
+        when(bookingService.createAll(anyLong(), any())).thenReturn(results);
+
+        mvc.perform(post(urlTemplate + "/batch")
+                        .content(mapper.writeValueAsString(batch))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(headerUserId, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(results)));
+    }
+
+    @Test
+    void emptyBatchIsRejectedTest() throws Exception {
+        mvc.perform(patch(urlTemplate + "/batch-approve")
+                        .content(mapper.writeValueAsString(new BookingApprovalBatchDto(List.of())))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(headerUserId, 1L)
+                        .param("approved", "true"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, times(0)).approveAll(anyLong(), any(), any());
+    }
 }
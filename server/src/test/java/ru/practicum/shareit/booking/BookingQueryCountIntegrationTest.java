@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.TestRows;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.States;
+import ru.practicum.shareit.booking.enums.Statuses;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.config.CacheConfig;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingQueryCountIntegrationTest {
+    private static final long OWNER_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+
+    private final EntityManager em;
+    private final TestRows rows;
+    private final EntityManagerFactory emf;
+    private final BookingService bookingService;
+    private final CacheManager cacheManager;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        for (long userId = 1; userId <= 4; userId++) {
+            rows.insertUser(userId, "user" + userId, "user" + userId + "@email");
+        }
+
+        long bookingId = 0;
+        for (long itemId = 1; itemId <= 3; itemId++) {
+            rows.insertItem(itemId, "item" + itemId, "description" + itemId, true, OWNER_ID);
+
+            for (Statuses status : List.of(Statuses.WAITING, Statuses.APPROVED, Statuses.REJECTED)) {
+                for (int shift = -2; shift <= 2; shift += 2) {
+                    bookingId++;
+                    rows.insertBooking(bookingId, now.plusDays(shift).minusHours(1),
+                            now.plusDays(shift).plusHours(1), itemId, status,
+                            bookingId % 2 == 0 ? BOOKER_ID : bookingId % 3 + 2);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(States.class)
+    void findAllBookingsByUserIsSingleStatement(States state) {
+        List<BookingDto> bookings = countStatements(BOOKER_ID, () ->
+                bookingService.findAllBookingsByUser(BOOKER_ID, state.name(), 0, 10, null));
+
+        bookings.forEach(booking -> assertThat(booking.getItem().getOwnerId(), notNullValue()));
+        assertThat(statistics().getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @ParameterizedTest
+    @EnumSource(States.class)
+    void findAllBookingsByOwnerItemsIsSingleStatement(States state) {
+        List<BookingDto> bookings = countStatements(OWNER_ID, () ->
+                bookingService.findAllBookingsByOwnerItems(OWNER_ID, state.name(), 0, 10, null));
+
+        bookings.forEach(booking -> assertThat(booking.getBooker().getName(), notNullValue()));
+        assertThat(statistics().getPrepareStatementCount(), equalTo(1L));
+    }
+
+    private <T> T countStatements(Long callerId, Supplier<T> call) {
+        em.flush();
+        em.clear();
+        // the caller is known to exist, so only the listing itself reaches the database
+        existenceCache().put(callerId, true);
+        statistics().clear();
+        return call.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> existenceCache() {
+        return (Cache<Object, Object>) cacheManager.getCache(CacheConfig.USER_EXISTS).getNativeCache();
+    }
+
+    private Statistics statistics() {
+        return emf.unwrap(SessionFactory.class).getStatistics();
+    }
+}
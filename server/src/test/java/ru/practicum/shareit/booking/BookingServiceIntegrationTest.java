@@ -17,7 +17,10 @@ import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.enums.States;
 import ru.practicum.shareit.booking.enums.Statuses;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
@@ -32,6 +35,7 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 @Transactional
@@ -79,7 +83,7 @@ class BookingServiceIntegrationTest {
         bookingQuery.setParameter("startDate", LocalDateTime.of(2024, 7, 1, 19, 30, 15));
         bookingQuery.setParameter("eneDate", LocalDateTime.of(2024, 7, 2, 19, 30, 15));
         bookingQuery.setParameter("itemId", 1L);
-        bookingQuery.setParameter("status", Statuses.APPROVED);
+        bookingQuery.setParameter("status", Statuses.APPROVED.name());
         bookingQuery.setParameter("bookerId", 1L);
         bookingQuery.executeUpdate();
     }
@@ -91,7 +95,7 @@ class BookingServiceIntegrationTest {
         currentBookingQuery.setParameter("startDate", LocalDateTime.of(2022, 7, 1, 19, 30, 15));
         currentBookingQuery.setParameter("eneDate", LocalDateTime.of(2026, 7, 2, 19, 30, 15));
         currentBookingQuery.setParameter("itemId", 1L);
-        currentBookingQuery.setParameter("status", Statuses.APPROVED);
+        currentBookingQuery.setParameter("status", Statuses.APPROVED.name());
         currentBookingQuery.setParameter("bookerId", 1L);
         currentBookingQuery.executeUpdate();
     }
@@ -103,7 +107,7 @@ class BookingServiceIntegrationTest {
         lastBookingQuery.setParameter("startDate", LocalDateTime.of(2024, 7, 1, 19, 30, 15));
         lastBookingQuery.setParameter("eneDate", LocalDateTime.of(2024, 7, 2, 19, 30, 15));
         lastBookingQuery.setParameter("itemId", 1L);
-        lastBookingQuery.setParameter("status", Statuses.APPROVED);
+        lastBookingQuery.setParameter("status", Statuses.APPROVED.name());
         lastBookingQuery.setParameter("bookerId", 1L);
         lastBookingQuery.executeUpdate();
     }
@@ -115,7 +119,7 @@ class BookingServiceIntegrationTest {
         nextBookingQuery.setParameter("startDate", LocalDateTime.of(2024, 12, 1, 19, 30, 15));
         nextBookingQuery.setParameter("eneDate", LocalDateTime.of(2024, 12, 2, 19, 30, 15));
         nextBookingQuery.setParameter("itemId", 1L);
-        nextBookingQuery.setParameter("status", Statuses.APPROVED);
+        nextBookingQuery.setParameter("status", Statuses.APPROVED.name());
         nextBookingQuery.setParameter("bookerId", 1L);
         nextBookingQuery.executeUpdate();
     }
@@ -141,6 +145,22 @@ class BookingServiceIntegrationTest {
         assertThat(booking.getBooker().getClass(), CoreMatchers.equalTo(UserDto.class));
     }
 
+    @Test
+    void createOverlappingBookingTest() {
+        createUser1InDb();
+        createUser2InDb();
+        createItemInDb();
+        createBookingInDb();
+
+        NewBookingDto overlapping = new NewBookingDto(LocalDateTime.of(2024, 7, 2, 10, 0, 0),
+                LocalDateTime.of(2024, 7, 3, 10, 0, 0), 1L, 2L);
+        NewBookingDto adjacent = new NewBookingDto(LocalDateTime.of(2024, 7, 2, 19, 30, 15),
+                LocalDateTime.of(2024, 7, 3, 19, 30, 15), 1L, 2L);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(2L, overlapping));
+        assertThat(bookingService.create(2L, adjacent).getId(), CoreMatchers.notNullValue());
+    }
+
     @Test
     void getBookingTest() {
         createUser1InDb();
@@ -167,7 +187,7 @@ class BookingServiceIntegrationTest {
         createItemInDb();
         createBookingInDb();
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(1L, String.valueOf(States.ALL));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(1L, String.valueOf(States.ALL), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -189,7 +209,7 @@ class BookingServiceIntegrationTest {
         createItemInDb();
         createCurrentBookingInDb();
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(1L, String.valueOf(States.CURRENT));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(1L, String.valueOf(States.CURRENT), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -211,7 +231,7 @@ class BookingServiceIntegrationTest {
         createItemInDb();
         createLastBookingInDb();
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(1L, String.valueOf(States.PAST));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(1L, String.valueOf(States.PAST), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -237,7 +257,7 @@ class BookingServiceIntegrationTest {
 
         BookingDto findBooking = bookingService.create(2L, newBookingDto);
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(2L, String.valueOf(States.WAITING));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(2L, String.valueOf(States.WAITING), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -264,7 +284,7 @@ class BookingServiceIntegrationTest {
 
         bookingService.approveBooking(newBooking.getId(), newBooking.getItem().getOwnerId(), Boolean.FALSE);
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(2L, String.valueOf(States.REJECTED));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByUser(2L, String.valueOf(States.REJECTED), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -286,7 +306,7 @@ class BookingServiceIntegrationTest {
         createItemInDb();
         createBookingInDb();
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.ALL));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.ALL), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -308,7 +328,7 @@ class BookingServiceIntegrationTest {
         createItemInDb();
         createCurrentBookingInDb();
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.CURRENT));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.CURRENT), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -330,7 +350,7 @@ class BookingServiceIntegrationTest {
         createItemInDb();
         createLastBookingInDb();
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.PAST));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.PAST), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -356,7 +376,7 @@ class BookingServiceIntegrationTest {
 
         BookingDto findBooking = bookingService.create(2L, newBookingDto);
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.WAITING));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.WAITING), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -383,7 +403,7 @@ class BookingServiceIntegrationTest {
 
         bookingService.approveBooking(newBooking.getId(), newBooking.getItem().getOwnerId(), Boolean.FALSE);
 
-        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.REJECTED));
+        Collection<BookingDto> loadBookings = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.REJECTED), 0, 10, null);
 
         assertThat(loadBookings, hasSize(1));
         for (BookingDto booking : loadBookings) {
@@ -398,6 +418,86 @@ class BookingServiceIntegrationTest {
         }
     }
 
+    @Test
+    void findAllBookingsByItemOwnerIdPagedByCursorTest() {
+        createUser1InDb();
+        createUser2InDb();
+        createItemInDb();
+        createLastBookingInDb();
+        createNextBookingInDb();
+
+        List<BookingDto> firstPage = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.ALL), 0, 1, null);
+
+        assertThat(firstPage, hasSize(1));
+        assertThat(firstPage.getFirst().getId(), equalTo(2L));
+
+        String after = new Cursor(firstPage.getFirst().getStart(), firstPage.getFirst().getId()).encode();
+        List<BookingDto> secondPage = bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.ALL), 0, 1, after);
+
+        assertThat(secondPage, hasSize(1));
+        assertThat(secondPage.getFirst().getId(), equalTo(3L));
+
+        after = new Cursor(secondPage.getFirst().getStart(), secondPage.getFirst().getId()).encode();
+        assertThat(bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.ALL), 0, 1, after), hasSize(0));
+    }
+
+    @Test
+    void findAllBookingsByUserPagedByOffsetTest() {
+        createUser1InDb();
+        createUser2InDb();
+        createItemInDb();
+        createLastBookingInDb();
+        createNextBookingInDb();
+
+        List<BookingDto> secondPage = bookingService.findAllBookingsByUser(1L, String.valueOf(States.ALL), 1, 1, null);
+
+        assertThat(secondPage, hasSize(1));
+        assertThat(secondPage.getFirst().getId(), equalTo(3L));
+    }
+
+    @Test
+    void findAllBookingsByUserFromNotMultipleOfSizeTest() {
+        createUser1InDb();
+        createUser2InDb();
+        createItemInDb();
+        createLastBookingInDb();
+        createNextBookingInDb();
+
+        List<BookingDto> fromSecond = bookingService.findAllBookingsByUser(1L, String.valueOf(States.ALL), 1, 2, null);
+
+        assertThat(fromSecond, hasSize(1));
+        assertThat(fromSecond.getFirst().getId(), equalTo(3L));
+    }
+
+    @Test
+    void findAllBookingsByUserWithoutSizeReturnsEveryBookingTest() {
+        createUser1InDb();
+        createUser2InDb();
+        createItemInDb();
+        createLastBookingInDb();
+        createNextBookingInDb();
+
+        assertThat(bookingService.findAllBookingsByUser(1L, String.valueOf(States.ALL), 0, null, null), hasSize(2));
+    }
+
+    @Test
+    void findAllBookingsWithInvalidPagingTest() {
+        createUser1InDb();
+
+        assertThrows(ValidationException.class, () ->
+                bookingService.findAllBookingsByUser(1L, String.valueOf(States.ALL), 0, 0, null));
+        assertThrows(ValidationException.class, () ->
+                bookingService.findAllBookingsByOwnerItems(1L, String.valueOf(States.ALL), -1, 10, null));
+    }
+
+    @Test
+    void findAllBookingsByUserWithInvalidCursorTest() {
+        createUser1InDb();
+
+        assertThrows(ValidationException.class, () ->
+                bookingService.findAllBookingsByUser(1L, String.valueOf(States.ALL), 0, 10, "not a cursor"));
+    }
+
     @Test
     void deleteItemTest() {
         createUser1InDb();
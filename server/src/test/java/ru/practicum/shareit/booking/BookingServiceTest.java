@@ -17,10 +17,13 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserReferences;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
@@ -44,6 +47,15 @@ class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemSearchEngine searchEngine;
+
+    @Mock
+    private UserReferences userReferences;
+
+    @Mock
+    private ItemBookingSummaryService summaryService;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -68,16 +80,17 @@ class BookingServiceTest {
         UserDto userDto = userService.createUser(newUser);
         User user = new User(1L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user));
 
         // item
         ItemDto newItem = ItemDto.builder().name("name").description("description").available(false).ownerId(1L).requestId(1L).build();
         Item item = new Item(1L, "name", "description", Boolean.FALSE, user, 1L);
         when(itemRepository.save(any())).thenReturn(item);
 
+        when(userReferences.getReference(anyLong())).thenReturn(user);
         ItemDto findItem = itemService.create(1L, newItem);
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findLockedById(anyLong())).thenReturn(Optional.of(item));
 
         ValidationException thrown = assertThrows(ValidationException.class, () -> {
             bookingService.create(1L, newBooking);
@@ -102,16 +115,17 @@ class BookingServiceTest {
         UserDto userDto = userService.createUser(newUser);
         User user = new User(1L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user));
 
         // item
         ItemDto itemDto = ItemDto.builder().name("name").description("description").available(true).ownerId(1L).requestId(1L).build();
         Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
         when(itemRepository.save(any())).thenReturn(item);
 
+        when(userReferences.getReference(anyLong())).thenReturn(user);
         ItemDto findItem = itemService.create(1L, itemDto);
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findLockedById(anyLong())).thenReturn(Optional.of(item));
 
         ValidationException thrown = assertThrows(ValidationException.class, () -> {
             bookingService.create(1L, newBooking);
@@ -133,7 +147,7 @@ class BookingServiceTest {
         userService.createUser(newUser1);
         User user1 = new User(1L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user1));
 
         // user 2
         UserDto newUser2 = new UserDto();
@@ -146,16 +160,17 @@ class BookingServiceTest {
         userService.createUser(newUser2);
         User user2 = new User(2L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user2));
 
         // item
         ItemDto newItem = ItemDto.builder().name("name").description("description").available(true).ownerId(1L).requestId(1L).build();
         Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L);
         when(itemRepository.save(any())).thenReturn(item);
 
+        when(userReferences.getReference(anyLong())).thenReturn(user1);
         ItemDto findItem = itemService.create(1L, newItem);
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findLockedById(anyLong())).thenReturn(Optional.of(item));
 
         // booking
         NewBookingDto newBooking = new NewBookingDto(LocalDateTime.of(2024, 7, 1, 19, 30, 15),
@@ -166,7 +181,7 @@ class BookingServiceTest {
 
         BookingDto bookingItem = bookingService.create(2L, newBooking);
 
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findDetailedById(anyLong())).thenReturn(Optional.of(booking));
 
         PermissionException thrown = assertThrows(PermissionException.class, () -> {
             bookingService.findBooking(1L, 999L);
@@ -188,7 +203,7 @@ class BookingServiceTest {
         userService.createUser(newUser1);
         User user1 = new User(1L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user1));
 
         // user 2
         UserDto newUser2 = new UserDto();
@@ -202,16 +217,17 @@ class BookingServiceTest {
         User user2 = new User(2L, "john.doe@mail.com", "John Doe");
 
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user2));
 
         // item
         ItemDto newItem = ItemDto.builder().name("name").description("description").available(true).ownerId(1L).requestId(1L).build();
         Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L);
         when(itemRepository.save(any())).thenReturn(item);
 
+        when(userReferences.getReference(anyLong())).thenReturn(user1);
         ItemDto findItem = itemService.create(1L, newItem);
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findLockedById(anyLong())).thenReturn(Optional.of(item));
 
         // booking
         NewBookingDto newBooking = new NewBookingDto(LocalDateTime.of(2024, 7, 1, 19, 30, 15),
@@ -222,7 +238,7 @@ class BookingServiceTest {
 
         BookingDto bookingItem = bookingService.create(2L, newBooking);
 
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findDetailedById(anyLong())).thenReturn(Optional.of(booking));
 
         PermissionException thrown = assertThrows(PermissionException.class, () -> {
             bookingService.approveBooking(1L, 2L, Boolean.TRUE);
@@ -244,7 +260,7 @@ class BookingServiceTest {
         userService.createUser(newUser1);
         User user1 = new User(1L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user1));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user1));
 
         // user 2
         UserDto newUser2 = new UserDto();
@@ -257,16 +273,17 @@ class BookingServiceTest {
         userService.createUser(newUser2);
         User user2 = new User(2L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user2));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user2));
 
         // item
         ItemDto newItem = ItemDto.builder().name("name").description("description").available(true).ownerId(1L).requestId(1L).build();
         Item item = new Item(1L, "name", "description", Boolean.TRUE, user1, 1L);
         when(itemRepository.save(any())).thenReturn(item);
 
+        when(userReferences.getReference(anyLong())).thenReturn(user1);
         ItemDto findItem = itemService.create(1L, newItem);
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(itemRepository.findLockedById(anyLong())).thenReturn(Optional.of(item));
 
         // booking
         NewBookingDto newBooking = new NewBookingDto(LocalDateTime.of(2024, 7, 1, 19, 30, 15),
@@ -277,7 +294,7 @@ class BookingServiceTest {
 
         BookingDto bookingItem = bookingService.create(2L, newBooking);
 
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findDetailedById(anyLong())).thenReturn(Optional.of(booking));
 
         BookingStatusException thrown = assertThrows(BookingStatusException.class, () -> {
             bookingService.approveBooking(1L, 1L, Boolean.FALSE);
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.export;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = DataExportController.class, properties = "shareit.export.token=secret")
+class DataExportControllerTest {
+
+    @MockBean
+    DataExportService exportService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void exportTest() throws Exception {
+        when(exportService.export(any())).thenAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write(new byte[]{0x1f, (byte) 0x8b});
+            return Map.of();
+        });
+
+        MvcResult result = mvc.perform(get("/admin/export").header(HttpHeaders.AUTHORIZATION, "Bearer secret"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        matchesPattern("attachment; filename=\"shareit-\\d{4}-\\d{2}-\\d{2}\\.ndjson\\.gz\"")))
+                .andExpect(content().bytes(new byte[]{0x1f, (byte) 0x8b}));
+    }
+
+    @Test
+    void exportWithoutTokenIsRejectedTest() throws Exception {
+        mvc.perform(get("/admin/export"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(exportService);
+    }
+
+    @Test
+    void exportWithWrongTokenIsRejectedTest() throws Exception {
+        mvc.perform(get("/admin/export").header(HttpHeaders.AUTHORIZATION, "Bearer guess"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(exportService);
+    }
+}
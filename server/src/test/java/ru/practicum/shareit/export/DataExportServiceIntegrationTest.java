@@ -0,0 +1,109 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.TestRows;
+import ru.practicum.shareit.booking.enums.Statuses;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class DataExportServiceIntegrationTest {
+    private static final long OWNER_ID = 8001L;
+    private static final long BOOKER_ID = 8002L;
+    private static final long REQUEST_ID = 8001L;
+    private static final long ITEM_ID = 8001L;
+    private static final long BOOKING_ID = 8001L;
+    private static final long COMMENT_ID = 8001L;
+    private static final Set<Long> IDS = Set.of(OWNER_ID, BOOKER_ID);
+
+    private final TestRows rows;
+    private final DataExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    private final LocalDateTime created = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    @BeforeEach
+    void seed() {
+        rows.insertUser(OWNER_ID, "owner", "owner@export");
+        rows.insertUser(BOOKER_ID, "booker", "booker@export");
+        rows.insertRequest(REQUEST_ID, "need a drill", BOOKER_ID, created);
+        rows.insertItem(ITEM_ID, "drill", "cordless drill", true, OWNER_ID, REQUEST_ID);
+        rows.insertBooking(BOOKING_ID, created.plusDays(1), created.plusDays(2), ITEM_ID, Statuses.APPROVED,
+                BOOKER_ID);
+        rows.insertComment(COMMENT_ID, "works", ITEM_ID, BOOKER_ID, created.plusDays(3));
+    }
+
+    @Test
+    void exportWritesEveryTableAsCompressedNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<String, Long> counts = exportService.export(out);
+
+        List<JsonNode> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+            lines = reader.lines()
+                    .peek(line -> assertThat(line, startsWith("{\"type\":")))
+                    .map(this::readTree)
+                    .toList();
+        }
+
+        assertThat(counts.keySet(), contains("user", "request", "item", "booking", "comment"));
+        assertThat(counts.get("user"), greaterThanOrEqualTo(2L));
+        assertThat((long) lines.size(), equalTo(counts.values().stream().mapToLong(Long::longValue).sum()));
+
+        List<JsonNode> seeded = lines.stream()
+                .filter(line -> line.get("type").asText().equals("user")
+                        ? IDS.contains(line.at("/row/id").asLong())
+                        : line.at("/row/id").asLong() == ITEM_ID)
+                .toList();
+        assertThat(seeded.stream().map(line -> line.get("type").asText()).toList(),
+                contains("user", "user", "request", "item", "booking", "comment"));
+        assertThat(seeded.get(1).get("row"), equalTo(readTree(
+                "{\"id\": 8002, \"name\": \"booker\", \"email\": \"booker@export\"}")));
+        assertThat(seeded.get(2).get("row"), equalTo(readTree(
+                "{\"id\": 8001, \"description\": \"need a drill\", \"requestorId\": 8002, "
+                        + "\"created\": \"2024-05-01T10:00:00\"}")));
+        assertThat(seeded.get(3).get("row"), equalTo(readTree(
+                "{\"id\": 8001, \"name\": \"drill\", \"description\": \"cordless drill\", \"available\": true, "
+                        + "\"ownerId\": 8001, \"requestId\": 8001}")));
+        assertThat(seeded.get(4).get("row"), equalTo(readTree(
+                "{\"id\": 8001, \"start\": \"2024-05-02T10:00:00\", \"end\": \"2024-05-03T10:00:00\", "
+                        + "\"itemId\": 8001, \"bookerId\": 8002, \"status\": \"APPROVED\"}")));
+        assertThat(seeded.get(5).get("row"), equalTo(readTree(
+                "{\"id\": 8001, \"text\": \"works\", \"itemId\": 8001, \"authorId\": 8002, "
+                        + "\"created\": \"2024-05-04T10:00:00\"}")));
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(json, e);
+        }
+    }
+}
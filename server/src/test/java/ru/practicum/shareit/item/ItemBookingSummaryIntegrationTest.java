@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.TestRows;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.enums.Statuses;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.FullItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ItemBookingSummaryIntegrationTest {
+    private static final long OWNER_ID = 1L;
+    private static final long BOOKER_ID = 2L;
+    private static final long ITEM_ID = 1L;
+
+    private final TestRows rows;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final ItemBookingSummaryService summaryService;
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    @BeforeEach
+    void seed() {
+        rows.insertUser(OWNER_ID, "owner", "owner@email");
+        rows.insertUser(BOOKER_ID, "booker", "booker@email");
+        rows.insertItem(ITEM_ID, "drill", "cordless drill", true, OWNER_ID);
+    }
+
+    @Test
+    void createdBookingsMoveNextBookingForward() {
+        bookingService.create(BOOKER_ID, new NewBookingDto(now.plusDays(3), now.plusDays(4), ITEM_ID, BOOKER_ID));
+        bookingService.create(BOOKER_ID, new NewBookingDto(now.plusDays(1), now.plusDays(2), ITEM_ID, BOOKER_ID));
+        bookingService.create(BOOKER_ID, new NewBookingDto(now.plusDays(5), now.plusDays(6), ITEM_ID, BOOKER_ID));
+
+        FullItemDto item = itemService.findItem(OWNER_ID, ITEM_ID);
+
+        assertThat(item.getLastBooking(), nullValue());
+        assertThat(item.getNextBooking(), equalTo(now.plusDays(1)));
+        assertThat(summaryService.findInconsistentItemIds(), empty());
+    }
+
+    @Test
+    void deletedBookingIsTakenOutOfSummary() {
+        Long firstId = bookingService.create(BOOKER_ID,
+                new NewBookingDto(now.plusDays(1), now.plusDays(2), ITEM_ID, BOOKER_ID)).getId();
+        bookingService.create(BOOKER_ID, new NewBookingDto(now.plusDays(3), now.plusDays(4), ITEM_ID, BOOKER_ID));
+
+        bookingService.delete(firstId);
+
+        assertThat(itemService.findItem(OWNER_ID, ITEM_ID).getNextBooking(), equalTo(now.plusDays(3)));
+        assertThat(summaryService.findInconsistentItemIds(), empty());
+    }
+
+    @Test
+    void rollerMovesStartedBookingToLast() {
+        insertBooking(now.minusDays(3), now.minusDays(2));
+        // the summary as it was written before that booking started
+        rows.execute("INSERT INTO item_booking_summary (item_id, next_booking, refresh_at) VALUES (?1, ?2, ?3)",
+                ITEM_ID, now.minusDays(3), now.minusDays(3));
+
+        summaryService.roll();
+
+        FullItemDto item = itemService.findItem(OWNER_ID, ITEM_ID);
+        assertThat(item.getLastBooking(), equalTo(now.minusDays(2)));
+        assertThat(item.getNextBooking(), nullValue());
+        assertThat(summaryService.findInconsistentItemIds(), empty());
+    }
+
+    @Test
+    void checkerFindsBookingsMissingFromSummaryAndRebuildRepairsThem() {
+        insertBooking(now.minusDays(3), now.minusDays(2));
+        insertBooking(now.plusDays(2), now.plusDays(3));
+
+        assertThat(summaryService.findInconsistentItemIds(), contains(ITEM_ID));
+
+        summaryService.rebuild();
+
+        FullItemDto item = itemService.findItem(OWNER_ID, ITEM_ID);
+        assertThat(item.getLastBooking(), equalTo(now.minusDays(2)));
+        assertThat(item.getNextBooking(), equalTo(now.plusDays(2)));
+        assertThat(summaryService.findInconsistentItemIds(), empty());
+    }
+
+    @Test
+    void rebuildOverwritesStaleSummaryInPlace() {
+        insertBooking(now.plusDays(2), now.plusDays(3));
+        rows.execute("INSERT INTO item_booking_summary (item_id, last_booking, next_booking, refresh_at) " +
+                "VALUES (?1, ?2, ?3, ?4)", ITEM_ID, now.minusDays(9), now.plusDays(9), now.plusDays(9));
+
+        assertThat(summaryService.rebuild(), equalTo(1));
+
+        FullItemDto item = itemService.findItem(OWNER_ID, ITEM_ID);
+        assertThat(item.getLastBooking(), nullValue());
+        assertThat(item.getNextBooking(), equalTo(now.plusDays(2)));
+        assertThat(summaryService.findInconsistentItemIds(), empty());
+    }
+
+    private void insertBooking(LocalDateTime start, LocalDateTime end) {
+        rows.insertBooking(start, end, ITEM_ID, Statuses.APPROVED, BOOKER_ID);
+    }
+}
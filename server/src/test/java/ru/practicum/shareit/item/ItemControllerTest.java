@@ -7,29 +7,42 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.FullItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.importer.ItemImportRecord;
+import ru.practicum.shareit.item.importer.ItemImportReport;
+import ru.practicum.shareit.item.importer.ItemImportService;
+import ru.practicum.shareit.item.importer.ItemRecordReader;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.NdjsonPages;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -41,6 +54,9 @@ class ItemControllerTest {
     @MockBean
     ItemService itemService;
 
+    @MockBean
+    ItemImportService itemImportService;
+
     @Autowired
     private MockMvc mvc;
 
@@ -136,7 +152,7 @@ class ItemControllerTest {
 
         List<FullItemDto> newRequests = List.of(requestDto1, requestDto2);
 
-        when(itemService.findAll(anyLong())).thenReturn(newRequests);
+        when(itemService.findAll(anyLong(), anyInt(), any())).thenReturn(newRequests);
 
         mvc.perform(get(urlTemplate)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -152,6 +168,28 @@ class ItemControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(newRequests)));
     }
 
+    @Test
+    void streamAllTest() throws Exception {
+        FullItemDto requestDto1 = makeAdvancedItemDto(1L, "name1", "description1", true, null, null,
+                List.of(), 1L, null);
+        FullItemDto requestDto2 = makeAdvancedItemDto(2L, "name2", "description2", true, null, null,
+                List.of(), 1L, null);
+
+        when(itemService.findAllAfter(1L, 0L, NdjsonPages.PAGE_SIZE)).thenReturn(List.of(requestDto1, requestDto2));
+
+        MvcResult result = mvc.perform(get(urlTemplate)
+                        .header(headerUserId, 1L)
+                        .accept(NdjsonPages.MEDIA_TYPE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NdjsonPages.MEDIA_TYPE))
+                .andExpect(content().string(mapper.writeValueAsString(requestDto1) + "\n" +
+                        mapper.writeValueAsString(requestDto2) + "\n"));
+    }
+
     @Test
     void findItemsForTenantTest() throws Exception {
         ItemDto requestDto1 = makeItemDto(1L, "name", "description", Boolean.TRUE, 1L, 1L);
@@ -159,7 +197,7 @@ class ItemControllerTest {
 
         List<ItemDto> newRequests = List.of(requestDto1, requestDto2);
 
-        when(itemService.findItemsForTenant(anyLong(), anyString())).thenReturn(newRequests);
+        when(itemService.findItemsForTenant(anyLong(), anyString(), anyInt(), anyInt())).thenReturn(newRequests);
 
         mvc.perform(get(urlTemplate + "/search")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -218,4 +256,42 @@ class ItemControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(comment)));
     }
 
+    @Test
+    void importTest() throws Exception {
+        List<ItemImportRecord> records = new ArrayList<>();
+        when(itemImportService.importItems(anyLong(), any())).thenAnswer(invocation -> {
+            ItemRecordReader reader = invocation.getArgument(1);
+            ItemImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+            ItemImportReport report = new ItemImportReport();
+            report.setRead(records.size());
+            report.setImported(records.size());
+            return report;
+        });
+
+        mvc.perform(post(urlTemplate + "/import")
+                        .content("name,description,available\nдрель,\"ударная, 800 Вт\",true\n"
+                                .getBytes(StandardCharsets.UTF_8))
+                        .header(headerUserId, 1L)
+                        .contentType("text/csv;charset=UTF-8")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read", is(1)))
+                .andExpect(jsonPath("$.imported", is(1)));
+
+        verify(itemImportService, times(1)).importItems(eq(1L), any());
+        assertThat(records.getFirst().item().getName(), equalTo("дрель"));
+        assertThat(records.getFirst().item().getDescription(), equalTo("ударная, 800 Вт"));
+    }
+
+    @Test
+    void importRejectsOtherContentTypesTest() throws Exception {
+        mvc.perform(post(urlTemplate + "/import")
+                        .content("[]")
+                        .header(headerUserId, 1L)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnsupportedMediaType());
+    }
 }
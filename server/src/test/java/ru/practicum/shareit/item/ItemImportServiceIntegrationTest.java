@@ -0,0 +1,136 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.importer.ItemImportError;
+import ru.practicum.shareit.item.importer.ItemImportFormat;
+import ru.practicum.shareit.item.importer.ItemImportReport;
+import ru.practicum.shareit.item.importer.ItemImportService;
+import ru.practicum.shareit.item.importer.ItemRecordReader;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit.item-import.chunk-size=2")
+class ItemImportServiceIntegrationTest {
+    // chunks commit on their own, so the rows are removed after each test instead of rolled back
+    private static final long OWNER_ID = 9001L;
+    private static final long UNKNOWN_ID = 9999L;
+
+    private final ItemImportService importService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", OWNER_ID, "importer",
+                "importer@email");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id = ?", OWNER_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", OWNER_ID);
+    }
+
+    @Test
+    void importNdjsonSkipsBlankLinesAndReportsBadOnes() throws Exception {
+        ItemImportReport report = importItems(ItemImportFormat.NDJSON, String.join("\n",
+                "{\"name\": \"drill\", \"description\": \"cordless drill\", \"available\": true}",
+                "",
+                "{\"name\": \"saw\", \"description\": \"hand saw\", \"available\": false, \"requestId\": 5}",
+                "{\"name\": \"ladder\",",
+                "{\"name\": \"\", \"description\": \"nameless\", \"available\": true}",
+                "{\"name\": \"hammer\", \"description\": \"claw hammer\", \"available\": true}"));
+
+        assertThat(report.getRead(), equalTo(5L));
+        assertThat(report.getImported(), equalTo(3L));
+        assertThat(report.getRejected(), equalTo(2L));
+        assertThat(report.getErrors().stream().map(ItemImportError::line).toList(), contains(4L, 5L));
+        assertThat(report.getErrors().getLast().message(), equalTo("name must not be blank"));
+        assertThat(items(), contains(
+                Map.of("NAME", "drill", "AVAILABLE", true),
+                Map.of("NAME", "hammer", "AVAILABLE", true),
+                Map.of("NAME", "saw", "AVAILABLE", false)));
+    }
+
+    @Test
+    void importCsvByHeaderNames() throws Exception {
+        ItemImportReport report = importItems(ItemImportFormat.CSV, """
+                Available,Name,Color,Description
+                true,drill,red,"cordless drill, 18 V"
+                yes,saw,,hand saw
+                false,"the ""best"" ladder",,ladder
+                true,"unterminated,,ladder
+                """);
+
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(report.getErrors(), contains(
+                new ItemImportError(3, "available must be true or false"),
+                new ItemImportError(5, "Unterminated quoted value")));
+        assertThat(jdbcTemplate.queryForList("SELECT name, description FROM items WHERE owner_id = ? ORDER BY id",
+                        OWNER_ID),
+                contains(Map.of("NAME", "drill", "DESCRIPTION", "cordless drill, 18 V"),
+                        Map.of("NAME", "the \"best\" ladder", "DESCRIPTION", "ladder")));
+    }
+
+    @Test
+    void rowTheDatabaseRejectsDoesNotCostItsChunk() throws Exception {
+        ItemImportReport report = importItems(ItemImportFormat.CSV, "name,description,available\n"
+                + "drill,cordless drill,true\n"
+                + "x".repeat(101) + ",too long a name,true\n"
+                + "saw,hand saw,true\n");
+
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(report.getErrors(), hasSize(1));
+        assertThat(report.getErrors().getFirst().line(), equalTo(3L));
+        assertThat(items().stream().map(item -> item.get("NAME")).toList(), contains("drill", "saw"));
+    }
+
+    @Test
+    void reportedErrorsAreCapped() throws Exception {
+        ItemImportReport report = importItems(ItemImportFormat.NDJSON, "{}\n".repeat(150));
+
+        assertThat(report.getRejected(), equalTo(150L));
+        assertThat(report.getErrors(), hasSize(100));
+        assertThat(report.getErrors().getFirst().message(), containsString("available must not be null"));
+    }
+
+    @Test
+    void importForUnknownOwnerFails() {
+        assertThrows(NotFoundException.class, () -> importService.importItems(UNKNOWN_ID,
+                ItemImportFormat.NDJSON.open(new ByteArrayInputStream(new byte[0]), StandardCharsets.UTF_8,
+                        objectMapper)));
+    }
+
+    private ItemImportReport importItems(ItemImportFormat format, String content) throws Exception {
+        try (ItemRecordReader reader = format.open(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, objectMapper)) {
+            return importService.importItems(OWNER_ID, reader);
+        }
+    }
+
+    private List<Map<String, Object>> items() {
+        return jdbcTemplate.queryForList("SELECT name, available FROM items WHERE owner_id = ? ORDER BY name",
+                OWNER_ID);
+    }
+}
@@ -12,26 +12,32 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.booking.enums.Statuses;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.comment.dto.CommentDto;
 import ru.practicum.shareit.item.comment.dto.NewCommentDto;
 import ru.practicum.shareit.item.dto.FullItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.summary.ItemBookingSummaryService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 @Transactional
@@ -41,6 +47,7 @@ import static org.hamcrest.Matchers.nullValue;
 class ItemServiceIntegrationTest {
     private final EntityManager em;
     private final ItemService itemService;
+    private final ItemBookingSummaryService summaryService;
 
     private void createUserInDb() {
         Query userQuery = em.createNativeQuery("INSERT INTO Users (id, name, email) " +
@@ -70,7 +77,7 @@ class ItemServiceIntegrationTest {
         lastBookingQuery.setParameter("startDate", LocalDateTime.of(2024, 7, 1, 19, 30, 15));
         lastBookingQuery.setParameter("eneDate", LocalDateTime.of(2024, 7, 2, 19, 30, 15));
         lastBookingQuery.setParameter("itemId", 1L);
-        lastBookingQuery.setParameter("status", Statuses.APPROVED);
+        lastBookingQuery.setParameter("status", Statuses.APPROVED.name());
         lastBookingQuery.setParameter("bookerId", 1L);
         lastBookingQuery.executeUpdate();
     }
@@ -82,7 +89,7 @@ class ItemServiceIntegrationTest {
         nextBookingQuery.setParameter("startDate", LocalDateTime.of(2024, 12, 1, 19, 30, 15));
         nextBookingQuery.setParameter("eneDate", LocalDateTime.of(2024, 12, 2, 19, 30, 15));
         nextBookingQuery.setParameter("itemId", 1L);
-        nextBookingQuery.setParameter("status", Statuses.APPROVED);
+        nextBookingQuery.setParameter("status", Statuses.APPROVED.name());
         nextBookingQuery.setParameter("bookerId", 1L);
         nextBookingQuery.executeUpdate();
     }
@@ -98,6 +105,24 @@ class ItemServiceIntegrationTest {
         commentQuery.executeUpdate();
     }
 
+    @Test
+    void testItemTagFollowsUpdatesCommentsAndViewer() {
+        createUserInDb();
+        createItemInDb();
+
+        String ownerTag = itemService.findItemTag(1L, 1L);
+        String otherTag = itemService.findItemTag(999L, 1L);
+        assertThat(ownerTag, not(equalTo(otherTag)));
+        assertThat(itemService.findItemTag(1L, 1L), equalTo(ownerTag));
+
+        itemService.update(1L, ItemDto.builder().name("renamed").build(), 1L);
+        String updatedTag = itemService.findItemTag(999L, 1L);
+        assertThat(updatedTag, not(equalTo(otherTag)));
+
+        createCommentInDb();
+        assertThat(itemService.findItemTag(999L, 1L), not(equalTo(updatedTag)));
+    }
+
     @Test
     void createItemTest() {
         createUserInDb();
@@ -168,7 +193,7 @@ class ItemServiceIntegrationTest {
             itemService.create(1L, itemRequest);
         }
 
-        Collection<FullItemDto> loadRequests = itemService.findAll(1L);
+        Collection<FullItemDto> loadRequests = itemService.findAll(1L, 0, null);
 
         assertThat(loadRequests, hasSize(items.size()));
         for (ItemDto item : items) {
@@ -186,6 +211,62 @@ class ItemServiceIntegrationTest {
         }
     }
 
+    @Test
+    void testFindAllKeepsLatestPastAndEarliestFutureBookingAndPages() {
+        createUserInDb();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (long itemId = 1; itemId <= 3; itemId++) {
+            Query itemQuery = em.createNativeQuery("INSERT INTO Items (id, name, description, available, owner_id) " +
+                    "VALUES (?1, ?2, ?3, ?4, ?5)");
+            itemQuery.setParameter(1, itemId);
+            itemQuery.setParameter(2, "name" + itemId);
+            itemQuery.setParameter(3, "description" + itemId);
+            itemQuery.setParameter(4, Boolean.TRUE);
+            itemQuery.setParameter(5, 1L);
+            itemQuery.executeUpdate();
+        }
+        for (int shift = 1; shift <= 5; shift++) {
+            Query bookingQuery = em.createNativeQuery("INSERT INTO Bookings (start_date, end_date, item_id, status, booker_id) " +
+                    "VALUES (?1, ?2, ?3, ?4, ?5), (?6, ?7, ?3, ?4, ?5)");
+            bookingQuery.setParameter(1, now.minusDays(shift * 2L));
+            bookingQuery.setParameter(2, now.minusDays(shift * 2L - 1));
+            bookingQuery.setParameter(3, 1L);
+            bookingQuery.setParameter(4, Statuses.APPROVED.name());
+            bookingQuery.setParameter(5, 1L);
+            bookingQuery.setParameter(6, now.plusDays(shift * 2L));
+            bookingQuery.setParameter(7, now.plusDays(shift * 2L + 1));
+            bookingQuery.executeUpdate();
+        }
+        summaryService.rebuild();
+
+        List<FullItemDto> firstPage = new ArrayList<>(itemService.findAll(1L, 0, 2));
+        Collection<FullItemDto> secondPage = itemService.findAll(1L, 2, 2);
+
+        assertThat(firstPage, hasSize(2));
+        assertThat(firstPage.getFirst().getId(), equalTo(1L));
+        assertThat(firstPage.getFirst().getLastBooking(), equalTo(now.minusDays(1)));
+        assertThat(firstPage.getFirst().getNextBooking(), equalTo(now.plusDays(2)));
+        assertThat(firstPage.get(1).getLastBooking(), nullValue());
+        assertThat(firstPage.get(1).getNextBooking(), nullValue());
+        assertThat(secondPage, contains(hasProperty("id", equalTo(3L))));
+    }
+
+    @Test
+    void testFindAllAfterContinuesFromLastSeenId() {
+        createUserInDb();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            ids.add(itemService.create(1L, makeNewItemRequest("name" + i, "description" + i, Boolean.TRUE, 1L, null))
+                    .getId());
+        }
+
+        List<FullItemDto> firstPage = itemService.findAllAfter(1L, 0L, 2);
+        List<FullItemDto> secondPage = itemService.findAllAfter(1L, firstPage.getLast().getId(), 2);
+
+        assertThat(firstPage.stream().map(FullItemDto::getId).toList(), equalTo(ids.subList(0, 2)));
+        assertThat(secondPage.stream().map(FullItemDto::getId).toList(), equalTo(ids.subList(2, 3)));
+    }
+
     @Test
     void testFindItemsForTenant() {
         createUserInDb();
@@ -200,7 +281,7 @@ class ItemServiceIntegrationTest {
             itemService.create(1L, itemRequest);
         }
 
-        Collection<ItemDto> loadRequests = itemService.findItemsForTenant(1L, "cript");
+        Collection<ItemDto> loadRequests = itemService.findItemsForTenant(1L, "cript", 0, 10);
 
         assertThat(loadRequests, hasSize(items.size()));
         for (ItemDto item : items) {
@@ -215,6 +296,60 @@ class ItemServiceIntegrationTest {
         }
     }
 
+    @Test
+    void testFindItemsForTenantRankedAndPaged() {
+        createUserInDb();
+
+        ItemDto inDescription = itemService.create(1L,
+                makeNewItemRequest("screwdriver", "fits any drill bit", Boolean.TRUE, 1L, null));
+        ItemDto inName = itemService.create(1L,
+                makeNewItemRequest("Hammer drill", "heavy", Boolean.TRUE, 1L, null));
+        ItemDto nameStarts = itemService.create(1L,
+                makeNewItemRequest("Drill", "cordless", Boolean.TRUE, 1L, null));
+        itemService.create(1L, makeNewItemRequest("Drill press", "not for rent", Boolean.FALSE, 1L, null));
+
+        List<ItemDto> firstPage = itemService.findItemsForTenant(1L, "DRILL", 0, 2);
+        List<ItemDto> secondPage = itemService.findItemsForTenant(1L, "DRILL", 2, 2);
+
+        assertThat(firstPage.stream().map(ItemDto::getId).toList(), contains(nameStarts.getId(), inName.getId()));
+        assertThat(secondPage.stream().map(ItemDto::getId).toList(), contains(inDescription.getId()));
+    }
+
+    @Test
+    void testFindItemsForTenantWithInvalidPaging() {
+        createUserInDb();
+        itemService.create(1L, makeNewItemRequest("drill", "cordless", Boolean.TRUE, 1L, null));
+
+        assertThrows(ValidationException.class, () -> itemService.findItemsForTenant(1L, "drill", -1, 10));
+        assertThrows(ValidationException.class, () -> itemService.findItemsForTenant(1L, "drill", 0, 0));
+    }
+
+    @Test
+    void testFindItemsForTenantAfterUpdateAndDelete() {
+        createUserInDb();
+
+        ItemDto item = itemService.create(1L, makeNewItemRequest("ladder", "tall", Boolean.TRUE, 1L, null));
+        itemService.update(item.getId(), makeNewItemRequest("stepladder", "short", null, 1L, null), 1L);
+
+        assertThat(itemService.findItemsForTenant(1L, "tall", 0, 10), hasSize(0));
+        assertThat(itemService.findItemsForTenant(1L, "short", 0, 10), hasSize(1));
+
+        itemService.delete(1L, item.getId());
+
+        assertThat(itemService.findItemsForTenant(1L, "ladder", 0, 10), hasSize(0));
+    }
+
+    @Test
+    void testUncommittedItemIsFoundOnlyByItsOwnTransaction() {
+        createUserInDb();
+
+        itemService.create(1L, makeNewItemRequest("wheelbarrow", "garden", Boolean.TRUE, 1L, null));
+
+        assertThat(itemService.findItemsForTenant(1L, "wheelbarrow", 0, 10), hasSize(1));
+        assertThat(CompletableFuture.supplyAsync(() -> itemService.findItemsForTenant(1L, "wheelbarrow", 0, 10))
+                .join(), hasSize(0));
+    }
+
     @Test
     void updateItemTest() {
         createUserInDb();
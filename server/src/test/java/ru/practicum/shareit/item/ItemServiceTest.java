@@ -13,10 +13,12 @@ import ru.practicum.shareit.item.dto.FullItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserReferences;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.ArrayList;
@@ -41,6 +43,12 @@ class ItemServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemSearchEngine searchEngine;
+
+    @Mock
+    private UserReferences userReferences;
+
     @InjectMocks
     private ItemService itemService;
 
@@ -66,13 +74,14 @@ class ItemServiceTest {
         UserDto userDto = userService.createUser(newUser);
         User user = new User(1L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user));
 
         // item
         ItemDto newItem = ItemDto.builder().name("name").description("description").available(true).ownerId(1L).requestId(1L).build();
         Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
         when(itemRepository.save(any())).thenReturn(item);
 
+        when(userReferences.getReference(anyLong())).thenReturn(user);
         ItemDto findItem = itemService.create(1L, newItem);
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
@@ -99,13 +108,14 @@ class ItemServiceTest {
         UserDto userDto = userService.createUser(newUser);
         User user = new User(1L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(user));
 
         // item
         ItemDto newItem = ItemDto.builder().name("name").description("description").available(true).ownerId(1L).requestId(1L).build();
         Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
         when(itemRepository.save(any())).thenReturn(item);
 
+        when(userReferences.getReference(anyLong())).thenReturn(user);
         ItemDto findItem = itemService.create(1L, newItem);
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
@@ -130,13 +140,12 @@ class ItemServiceTest {
         UserDto userDto = userService.createUser(newUser);
         User user = new User(1L, "john.doe@mail.com", "John Doe");
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-
         // item
         ItemDto newItem = ItemDto.builder().name("name").description("description").available(true).ownerId(1L).requestId(1L).build();
         Item item = new Item(1L, "name", "description", Boolean.TRUE, user, 1L);
         when(itemRepository.save(any())).thenReturn(item);
 
+        when(userReferences.getReference(anyLong())).thenReturn(user);
         ItemDto findItem = itemService.create(1L, newItem);
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
@@ -150,16 +159,16 @@ class ItemServiceTest {
 
     @Test
     void testFindItemsForTenantWithBlankText() {
-        Collection<ItemDto> items = itemService.findItemsForTenant(1L, null);
+        Collection<ItemDto> items = itemService.findItemsForTenant(1L, null, 0, 10);
 
         assertEquals(items, new ArrayList<>());
     }
 
     @Test
     void testFindAllWithWrongOwnerId() {
-        when(itemRepository.findAllByUserId(anyLong())).thenReturn(new ArrayList<>());
+        when(itemRepository.findAllWithBookingDatesByUserId(anyLong(), any())).thenReturn(new ArrayList<>());
 
-        Collection<FullItemDto> items = itemService.findAll(999L);
+        Collection<FullItemDto> items = itemService.findAll(999L, 0, null);
 
         assertEquals(new ArrayList<>(), items);
     }
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.logs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bytes allocated per request by the access log, before and after body capture was capped. Appenders are detached,
+ * so only capturing and formatting are measured. After {@code mvn test-compile} run from {@code server}
+ * <pre>
+ * mvn dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) ru.practicum.shareit.logs.LoggingFilterBenchmark
+ * </pre>
+ * and compare the {@code gc.alloc.rate.norm} rows.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingFilterBenchmark {
+    @Param({"1024", "65536"})
+    private int responseBytes;
+
+    @Param({"INFO", "DEBUG"})
+    private String level;
+
+    private Filter responder;
+    private Filter legacy;
+    private Filter current;
+    private byte[] requestBody;
+
+    @Setup
+    public void setUp() {
+        Logger root = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        ((Logger) LoggerFactory.getLogger(LoggingFilter.class)).setLevel(Level.toLevel(level));
+        ((Logger) LoggerFactory.getLogger(LegacyLoggingFilter.class)).setLevel(Level.toLevel(level));
+
+        byte[] responseBody = "{\"id\":1,\"name\":\"drill\"},".repeat(responseBytes / 24 + 1)
+                .substring(0, responseBytes)
+                .getBytes(StandardCharsets.UTF_8);
+        responder = (request, response, chain) -> {
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            response.getOutputStream().write(responseBody);
+        };
+        requestBody = "{\"name\":\"drill\",\"description\":\"cordless drill\",\"available\":true}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        legacy = new LegacyLoggingFilter();
+        current = new LoggingFilter(new AccessLogProperties());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse before() throws Exception {
+        return filter(legacy);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse after() throws Exception {
+        return filter(current);
+    }
+
+    private MockHttpServletResponse filter(Filter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.setContent(requestBody);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+        }, responder));
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggingFilterBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+
+    /**
+     * The filter as it was before the access log: whole bodies cached and logged at INFO.
+     */
+    @Slf4j
+    static class LegacyLoggingFilter extends OncePerRequestFilter {
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
+            ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+
+            try {
+                filterChain.doFilter(wrappedRequest, wrappedResponse);
+            } finally {
+                log.info("Request: Method = {}, URI = {}, Body = {}", wrappedRequest.getMethod(),
+                        wrappedRequest.getRequestURI(),
+                        new String(wrappedRequest.getContentAsByteArray(), StandardCharsets.UTF_8));
+                log.info("Response: Status = {}, Body = {}", wrappedResponse.getStatus(),
+                        new String(wrappedResponse.getContentAsByteArray(), StandardCharsets.UTF_8));
+                wrappedResponse.copyBodyToResponse();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.logs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class LoggingFilterTest {
+    private static final String BODY = "x".repeat(100);
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingFilter.class);
+    private final AccessLogProperties properties = new AccessLogProperties();
+    private final LoggingFilter filter = new LoggingFilter(properties);
+    private final AtomicReference<Object> seenResponse = new AtomicReference<>();
+
+    private Level level;
+
+    @BeforeEach
+    void rememberLevel() {
+        level = logger.getLevel();
+        properties.setMaxBodyBytes(10);
+    }
+
+    @AfterEach
+    void restoreLevel() {
+        logger.setLevel(level);
+    }
+
+    @Test
+    void bodiesAreNotCapturedBelowDebug() throws Exception {
+        logger.setLevel(Level.INFO);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), response, chain());
+
+        assertThat(seenResponse.get(), sameInstance(response));
+        assertThat(response.getContentAsString(), equalTo(BODY));
+    }
+
+    @Test
+    void cappedCaptureStillWritesWholeBody() throws Exception {
+        logger.setLevel(Level.DEBUG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), response, chain());
+
+        BodyCapturingResponseWrapper wrapper = (BodyCapturingResponseWrapper) seenResponse.get();
+        assertThat(wrapper.getCapturedBody().length, equalTo(10));
+        assertThat(wrapper.getContentLength(), equalTo((long) BODY.length()));
+        assertThat(response.getContentAsString(), equalTo(BODY));
+    }
+
+    @Test
+    void writerOutputIsFlushedThroughCapture() throws Exception {
+        logger.setLevel(Level.DEBUG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items"), response,
+                chain((request, servletResponse, chain) -> servletResponse.getWriter().write(BODY)));
+
+        assertThat(response.getContentAsString(), equalTo(BODY));
+    }
+
+    @Test
+    void unsampledEndpointIsPassedThrough() throws Exception {
+        logger.setLevel(Level.DEBUG);
+        properties.getEndpointSampleRates().put("/items/**", 0.0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/items/search"), response, chain());
+        assertThat(seenResponse.get(), sameInstance(response));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/bookings"), new MockHttpServletResponse(), chain());
+        assertThat(seenResponse.get(), not(instanceOf(MockHttpServletResponse.class)));
+    }
+
+    private MockFilterChain chain() {
+        return chain((request, response, chain) -> {
+            seenResponse.set(response);
+            response.getOutputStream().write(BODY.getBytes());
+        });
+    }
+
+    private MockFilterChain chain(Filter application) {
+        return new MockFilterChain(new HttpServlet() {
+        }, application);
+    }
+}
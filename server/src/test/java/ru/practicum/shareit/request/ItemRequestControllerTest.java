@@ -18,7 +18,9 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -116,7 +118,7 @@ class ItemRequestControllerTest {
 
         List<ItemRequestDto> newRequests = List.of(requestDto1, requestDto2);
 
-        when(itemRequestService.findAllByRequestorId(anyLong())).thenReturn(newRequests);
+        when(itemRequestService.findAllByRequestorId(anyLong(), anyInt(), any())).thenReturn(newRequests);
 
         mvc.perform(get(urlTemplate)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -142,7 +144,7 @@ class ItemRequestControllerTest {
 
         List<ItemRequestDto> newRequests = List.of(requestDto1, requestDto2);
 
-        when(itemRequestService.findAllOfAnotherRequestors(anyLong())).thenReturn(newRequests);
+        when(itemRequestService.findAllOfAnotherRequestors(anyLong(), anyInt(), isNull(), any())).thenReturn(newRequests);
 
         mvc.perform(get(urlTemplate + "/all")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -11,6 +11,7 @@ import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewRequest;
 import ru.practicum.shareit.request.dto.UpdateRequest;
@@ -25,6 +26,8 @@ import java.util.List;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasProperty;
@@ -97,7 +100,7 @@ class ItemRequestServiceIntegrationTest {
             itemRequestService.create(1L, itemRequest);
         }
 
-        Collection<ItemRequestDto> loadRequests = itemRequestService.findAllByRequestorId(1L);
+        Collection<ItemRequestDto> loadRequests = itemRequestService.findAllByRequestorId(1L, 0, null);
 
         assertThat(loadRequests, hasSize(itemRequests.size()));
         for (NewRequest itemRequest : itemRequests) {
@@ -111,6 +114,34 @@ class ItemRequestServiceIntegrationTest {
         }
     }
 
+    @Test
+    void testFindAllByRequestorIdIsNewestFirstAndPaged() {
+        createUserInDb();
+        LocalDateTime created = LocalDateTime.of(2024, 7, 3, 19, 30, 1);
+        for (long id = 1; id <= 3; id++) {
+            Query requestQuery = em.createNativeQuery("INSERT INTO Requests (id, description, requestor_id, created) " +
+                    "VALUES (?1, ?2, ?3, ?4)");
+            requestQuery.setParameter(1, id);
+            requestQuery.setParameter(2, "description" + id);
+            requestQuery.setParameter(3, 1L);
+            requestQuery.setParameter(4, created.plusDays(id % 3));
+            requestQuery.executeUpdate();
+        }
+        Query itemQuery = em.createNativeQuery("INSERT INTO Items (name, description, available, owner_id, request_id) " +
+                "VALUES ('name', 'description', true, 1, 2)");
+        itemQuery.executeUpdate();
+
+        List<ItemRequestDto> all = itemRequestService.findAllByRequestorId(1L, 0, null);
+        List<ItemRequestDto> secondPage = itemRequestService.findAllByRequestorId(1L, 2, 2);
+
+        assertThat(all, contains(hasProperty("id", equalTo(2L)), hasProperty("id", equalTo(1L)),
+                hasProperty("id", equalTo(3L))));
+        assertThat(all.getFirst().getItems(), contains(allOf(
+                hasProperty("name", equalTo("name")),
+                hasProperty("ownerId", equalTo(1L)))));
+        assertThat(secondPage, contains(hasProperty("id", equalTo(3L))));
+    }
+
     @Test
     void testFindAllOfAnotherRequestors() {
         createUserInDb();
@@ -125,7 +156,7 @@ class ItemRequestServiceIntegrationTest {
             itemRequestService.create(1L, itemRequest);
         }
 
-        Collection<ItemRequestDto> loadRequests = itemRequestService.findAllOfAnotherRequestors(2L);
+        Collection<ItemRequestDto> loadRequests = itemRequestService.findAllOfAnotherRequestors(2L, 0, 10, null);
 
         assertThat(loadRequests, hasSize(itemRequests.size()));
         for (NewRequest itemRequest : itemRequests) {
@@ -139,6 +170,40 @@ class ItemRequestServiceIntegrationTest {
         }
     }
 
+    @Test
+    void testFindAllOfAnotherRequestorsPagesNewestFirstWithCursor() {
+        createUserInDb();
+        LocalDateTime created = LocalDateTime.of(2024, 7, 3, 19, 30, 1);
+        for (long id = 1; id <= 5; id++) {
+            Query requestQuery = em.createNativeQuery("INSERT INTO Requests (id, description, requestor_id, created) " +
+                    "VALUES (?1, ?2, ?3, ?4)");
+            requestQuery.setParameter(1, id);
+            requestQuery.setParameter(2, "description" + id);
+            requestQuery.setParameter(3, 1L);
+            // requests 2 and 3 share a timestamp, the id decides their order
+            requestQuery.setParameter(4, created.plusDays(id == 3 ? 2 : id));
+            requestQuery.executeUpdate();
+        }
+        Query itemQuery = em.createNativeQuery("INSERT INTO Items (name, description, available, owner_id, request_id) " +
+                "VALUES ('name', 'description', true, 1, 4)");
+        itemQuery.executeUpdate();
+
+        List<ItemRequestDto> firstPage = itemRequestService.findAllOfAnotherRequestors(2L, 0, 2, null);
+        ItemRequestDto last = firstPage.getLast();
+        String after = new Cursor(last.getCreated(), last.getId()).encode();
+        List<ItemRequestDto> secondPage = itemRequestService.findAllOfAnotherRequestors(2L, 0, 2, after);
+        last = secondPage.getLast();
+        after = new Cursor(last.getCreated(), last.getId()).encode();
+        List<ItemRequestDto> thirdPage = itemRequestService.findAllOfAnotherRequestors(2L, 0, 2, after);
+
+        assertThat(firstPage, contains(hasProperty("id", equalTo(5L)), hasProperty("id", equalTo(4L))));
+        assertThat(firstPage.get(1).getItems(), hasSize(1));
+        assertThat(secondPage, contains(hasProperty("id", equalTo(3L)), hasProperty("id", equalTo(2L))));
+        assertThat(thirdPage, contains(hasProperty("id", equalTo(1L))));
+        assertThat(itemRequestService.findAllOfAnotherRequestors(1L, 0, 2, null), empty());
+        assertThat(itemRequestService.findAllOfAnotherRequestors(2L, 0, null, null), hasSize(5));
+    }
+
     @Test
     void updateItemRequestTest() {
         createUserInDb();
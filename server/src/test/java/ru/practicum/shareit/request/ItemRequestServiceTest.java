@@ -52,7 +52,7 @@ class ItemRequestServiceTest {
 
         UserDto userDto = userService.createUser(newUser);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(new User(1L, "john.doe@mail.com", "John Doe")));
+        when(userRepository.findCachedById(anyLong())).thenReturn(Optional.of(new User(1L, "john.doe@mail.com", "John Doe")));
 
         updItemRequest.setId(null);
 